@@ -0,0 +1,206 @@
+package findtext.bench;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ *    .      ,  JMH ,     ,
+ *          ,     MethodHandle.
+ * MethodHandle  static final   JIT - ,       .
+ */
+final class App {
+	/** ByteMatcher.create(byte[]): (byte[]) Object */
+	private static final MethodHandle CREATE_MATCHER;
+	/** ByteMatcher.indexOf: (Object, ByteBuffer, int, int) int */
+	private static final MethodHandle INDEX_OF;
+	/** FindFiles.getInstance(): () Object */
+	private static final MethodHandle GET_INSTANCE;
+	/** FindFiles.findFilesInDirectory: (Object, String[], String, String[]) void */
+	private static final MethodHandle FIND_FILES;
+	/**   FindFiles.findAllOccurrences: (Object, boolean) void */
+	private static final MethodHandle SET_FIND_ALL;
+	/** new HorspoolMatcher(byte[]): (byte[]) Object */
+	private static final MethodHandle NEW_HORSPOOL;
+	/** new AhoCorasickMatcher(byte[][]): (byte[][]) Object */
+	private static final MethodHandle NEW_AHO_CORASICK;
+	/** AhoCorasickMatcher.scan: (Object, ByteBuffer, int, int, int, int, long, Object, int) void */
+	private static final MethodHandle AHO_CORASICK_SCAN;
+	/**  OffsetList (   AhoCorasickMatcher.scan   ) */
+	private static final Class<?> OFFSET_LIST;
+	/** new RegexSearcher(regex, charset, ignoreCase, prefilter, metrics): (String, Charset, boolean, boolean, Object) Object */
+	private static final MethodHandle NEW_REGEX_SEARCHER;
+	/** RegexSearcher.search(channel, from, reportFrom, hits, maxHits): (Object, FileChannel, long, long, Object, int) long */
+	private static final MethodHandle REGEX_SEARCH;
+	/** RegexSearcher.getStats(): (Object) String */
+	private static final MethodHandle REGEX_STATS;
+	/** new OffsetList(): () Object */
+	private static final MethodHandle NEW_OFFSETS;
+	/** OffsetList.size(): (Object) int */
+	private static final MethodHandle OFFSETS_SIZE;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> byteMatcher = Class.forName("ByteMatcher"), findFiles = Class.forName("FindFiles");
+			Class<?> regexSearcher = Class.forName("RegexSearcher"), offsetList = Class.forName("OffsetList");
+			Class<?> searchMetrics = Class.forName("SearchMetrics"), ahoCorasick = Class.forName("AhoCorasickMatcher");
+			OFFSET_LIST = offsetList;
+			Class<?> offsetLists = Array.newInstance(offsetList, 0).getClass();
+			CREATE_MATCHER = lookup.findStatic(byteMatcher, "create", methodType(byteMatcher, byte[].class))
+								   .asType(methodType(Object.class, byte[].class));
+			INDEX_OF = lookup.findVirtual(byteMatcher, "indexOf", methodType(int.class, ByteBuffer.class, int.class, int.class))
+							 .asType(methodType(int.class, Object.class, ByteBuffer.class, int.class, int.class));
+			GET_INSTANCE = lookup.findStatic(findFiles, "getInstance", methodType(findFiles))
+								 .asType(methodType(Object.class));
+			FIND_FILES = lookup.findVirtual(findFiles, "findFilesInDirectory", methodType(void.class, String[].class, String.class, String[].class))
+							   .asType(methodType(void.class, Object.class, String[].class, String.class, String[].class));
+			SET_FIND_ALL = lookup.findSetter(findFiles, "findAllOccurrences", boolean.class)
+								 .asType(methodType(void.class, Object.class, boolean.class));
+			NEW_HORSPOOL = lookup.findConstructor(Class.forName("HorspoolMatcher"), methodType(void.class, byte[].class))
+								 .asType(methodType(Object.class, byte[].class));
+			NEW_AHO_CORASICK = lookup.findConstructor(ahoCorasick, methodType(void.class, byte[][].class))
+									 .asType(methodType(Object.class, byte[][].class));
+			AHO_CORASICK_SCAN = lookup.findVirtual(ahoCorasick, "scan", methodType(void.class, ByteBuffer.class, int.class, int.class, int.class, int.class, long.class, offsetLists, int.class))
+									  .asType(methodType(void.class, Object.class, ByteBuffer.class, int.class, int.class, int.class, int.class, long.class, Object.class, int.class));
+			NEW_REGEX_SEARCHER = lookup.findConstructor(regexSearcher, methodType(void.class, String.class, Charset.class, boolean.class, boolean.class, searchMetrics))
+									   .asType(methodType(Object.class, String.class, Charset.class, boolean.class, boolean.class, Object.class));
+			REGEX_SEARCH = lookup.findVirtual(regexSearcher, "search", methodType(long.class, FileChannel.class, long.class, long.class, offsetList, int.class))
+								 .asType(methodType(long.class, Object.class, FileChannel.class, long.class, long.class, Object.class, int.class));
+			REGEX_STATS = lookup.findVirtual(regexSearcher, "getStats", methodType(String.class))
+								.asType(methodType(String.class, Object.class));
+			NEW_OFFSETS = lookup.findConstructor(offsetList, methodType(void.class))
+								.asType(methodType(Object.class));
+			OFFSETS_SIZE = lookup.findVirtual(offsetList, "size", methodType(int.class))
+								 .asType(methodType(int.class, Object.class));
+		} catch(ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private App() {}
+
+	/** @return    ByteMatcher.create */
+	static Object matcher(byte[] pattern) {
+		try {
+			return (Object)CREATE_MATCHER.invokeExact(pattern);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @return ByteMatcher.indexOf(buffer, from, to) */
+	static int indexOf(Object matcher, ByteBuffer buffer, int from, int to) {
+		try {
+			return (int)INDEX_OF.invokeExact(matcher, buffer, from, to);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @return new HorspoolMatcher(pattern) */
+	static Object horspool(byte[] pattern) {
+		try {
+			return (Object)NEW_HORSPOOL.invokeExact(pattern);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @return new AhoCorasickMatcher(patterns) */
+	static Object ahoCorasick(byte[][] patterns) {
+		try {
+			return (Object)NEW_AHO_CORASICK.invokeExact(patterns);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 *        - (AhoCorasickMatcher.scan   )
+	 * @param matcher 
+	 * @param patternCount   
+	 * @param buffer 
+	 * @return   
+	 */
+	static int ahoCorasickScan(Object matcher, int patternCount, ByteBuffer buffer) {
+		try {
+			Object hits = Array.newInstance(OFFSET_LIST, patternCount);
+			int limit = buffer.limit();
+			AHO_CORASICK_SCAN.invokeExact(matcher, buffer, 0, limit, limit, 0, 0L, hits, Integer.MAX_VALUE);
+			int count = 0;
+			for(int p = 0; p < patternCount; p++) {
+				Object patternHits = Array.get(hits, p);
+				if(patternHits != null)
+					count += (int)OFFSETS_SIZE.invokeExact(patternHits);
+			}
+			return count;
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 *      FindFiles
+	 * @param text  
+	 * @param directory 
+	 * @param allOccurrences    
+	 * @param extensions  
+	 */
+	static void findFiles(String text, String directory, boolean allOccurrences, String... extensions) {
+		try {
+			Object finder = (Object)GET_INSTANCE.invokeExact();
+			SET_FIND_ALL.invokeExact(finder, allOccurrences);
+			FIND_FILES.invokeExact(finder, new String[] {text}, directory, extensions);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * @param regex  
+	 * @param charset  
+	 * @param prefilter      
+	 * @return new RegexSearcher(regex, charset, false, prefilter, null)
+	 */
+	static Object regexSearcher(String regex, Charset charset, boolean prefilter) {
+		try {
+			return (Object)NEW_REGEX_SEARCHER.invokeExact(regex, charset, false, prefilter, (Object)null);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @return       (RegexSearcher.search   ) */
+	static int regexSearchAll(Object searcher, FileChannel channel) {
+		try {
+			Object hits = (Object)NEW_OFFSETS.invokeExact();
+			long first = (long)REGEX_SEARCH.invokeExact(searcher, channel, 0L, 0L, hits, Integer.MAX_VALUE);
+			return first == -1 ? 0 : (int)OFFSETS_SIZE.invokeExact(hits);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @return RegexSearcher.getStats(): -     */
+	static String regexStats(Object searcher) {
+		try {
+			return (String)REGEX_STATS.invokeExact(searcher);
+		} catch(Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable e) {
+		if(e instanceof RuntimeException)
+			return (RuntimeException)e;
+		if(e instanceof Error)
+			throw (Error)e;
+		return new IllegalStateException(e);
+	}
+}
@@ -0,0 +1,205 @@
+package findtext.bench;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ *     :    , ,   ,
+ *           UTF-8.        
+ *         ,    .
+ *  '~'    :      .
+ *
+ * java -cp bench/target/benchmarks.jar findtext.bench.CorpusGenerator   []
+ * java -cp bench/target/benchmarks.jar findtext.bench.CorpusGenerator --tree deep|wide 
+ */
+public final class CorpusGenerator {
+	/**    */
+	public static final long DEFAULT_SEED = 20170828L;
+	/** ,     */
+	public static final byte ABSENT_BYTE = '~';
+
+	private static final String[] LEVELS = {"INFO ", "INFO ", "INFO ", "INFO ", "DEBUG", "DEBUG", "WARN ", "ERROR"};
+	private static final String[] CLASSES = {
+		"com.example.orders.OrderService", "com.example.orders.OrderRepository", "com.example.billing.InvoiceGenerator",
+		"com.example.auth.SessionManager", "com.example.http.RequestDispatcher", "com.example.cache.RegionCache",
+		"org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "org.springframework.web.servlet.DispatcherServlet"
+	};
+	private static final String[] MESSAGES = {
+		"Processed order %d in %d ms", "Cache miss for key user:%d, loading from database (%d rows)",
+		"GET /api/v1/orders/%d completed with status 200 in %d ms", "Session %d expired after %d seconds of inactivity",
+		"Retrying request %d, attempt %d of 5", "Connection pool: active=%d idle=%d",
+		"Invoice %d generated, total amount %d.00 RUB", "Slow query detected: %d ms for statement #%d"
+	};
+	private static final String[] RUSSIAN = {
+		" %d   ,    %d ", " %d   , : %d",
+		"     %d,   %d ", "   : %d , %d "
+	};
+	private static final String[] EXCEPTIONS = {
+		"java.lang.NullPointerException", "java.lang.IllegalStateException: Connection is closed",
+		"java.sql.SQLTransientConnectionException: HikariPool-1 - Connection is not available, request timed out after 30000ms",
+		"java.io.IOException: Broken pipe"
+	};
+	private static final String[] FRAMES = {
+		"com.example.orders.OrderService.process(OrderService.java:%d)", "com.example.orders.OrderRepository.save(OrderRepository.java:%d)",
+		"com.example.http.RequestDispatcher.dispatch(RequestDispatcher.java:%d)", "java.util.concurrent.ThreadPoolExecutor.runWorker(ThreadPoolExecutor.java:%d)",
+		"org.springframework.web.servlet.FrameworkServlet.service(FrameworkServlet.java:%d)", "java.lang.Thread.run(Thread.java:%d)"
+	};
+
+	private final SplittableRandom random;
+	/**    ,   2024-01-01 00:00:00 */
+	private long time = 0;
+
+	private CorpusGenerator(long seed) {
+		random = new SplittableRandom(seed);
+	}
+
+	/**
+	 *     
+	 * @param file  
+	 * @param size   
+	 * @param seed 
+	 */
+	public static void generate(Path file, long size, long seed) throws IOException {
+		if(file.getParent() != null)
+			Files.createDirectories(file.getParent());
+		CorpusGenerator generator = new CorpusGenerator(seed);
+		StringBuilder line = new StringBuilder(256);
+		long written = 0;
+		try(OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+			while(written < size) {
+				line.setLength(0);
+				generator.appendRecord(line);
+				byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+				out.write(bytes);
+				written += bytes.length;
+			}
+		}
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(size); //      
+		}
+	}
+
+	/**
+	 *      :  ,     
+	 * @param directory  
+	 * @param size   
+	 * @return   
+	 */
+	public static Path cached(Path directory, long size) throws IOException {
+		Path file = directory.resolve("corpus-" + size + "-" + DEFAULT_SEED + ".log");
+		if(!Files.exists(file) || Files.size(file) != size) {
+			Path tmp = directory.resolve(file.getFileName() + ".tmp");
+			generate(tmp, size, DEFAULT_SEED);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return file;
+	}
+
+	/**
+	 *     :    fanOut   files  
+	 * @param directory  
+	 * @param depth 
+	 */
+	public static void deepTree(Path directory, int depth, int fanOut, int files) throws IOException {
+		Files.createDirectories(directory);
+		for(int i = 0; i < files; i++)
+			touch(directory.resolve("app-" + i + ".log"));
+		if(depth > 0)
+			for(int i = 0; i < fanOut; i++)
+				deepTree(directory.resolve("level" + depth + "-" + i), depth - 1, fanOut, files);
+	}
+
+	/**
+	 *    :    files        
+	 * @param directory 
+	 */
+	public static void wideTree(Path directory, int files) throws IOException {
+		Files.createDirectories(directory);
+		for(int i = 0; i < files; i++) {
+			touch(directory.resolve("app-" + i + ".log"));
+			touch(directory.resolve("app-" + i + ".txt"));
+		}
+	}
+
+	private static void touch(Path file) throws IOException {
+		if(!Files.exists(file))
+			Files.createFile(file);
+	}
+
+	/**    :        */
+	private void appendRecord(StringBuilder line) {
+		time += 1 + random.nextInt(250);
+		int kind = random.nextInt(100);
+		String level = (kind < 8) ? "INFO " : LEVELS[random.nextInt(LEVELS.length)];
+		appendTimestamp(line);
+		line.append(' ').append(level).append(" [worker-").append(random.nextInt(32)).append("] ");
+		if(kind < 8) { //  
+			line.append("ru.example.notify.Notifier - ")
+				.append(String.format(Locale.ROOT, RUSSIAN[random.nextInt(RUSSIAN.length)], random.nextInt(1_000_000), random.nextInt(1000)));
+		}
+		else {
+			line.append(CLASSES[random.nextInt(CLASSES.length)]).append(" - ")
+				.append(String.format(Locale.ROOT, MESSAGES[random.nextInt(MESSAGES.length)], random.nextInt(1_000_000), random.nextInt(5000)));
+		}
+		line.append('\n');
+		if(level.equals("ERROR")) { //   -  
+			line.append(EXCEPTIONS[random.nextInt(EXCEPTIONS.length)]).append('\n');
+			for(int frames = 3 + random.nextInt(12); frames > 0; frames--)
+				line.append("\tat ").append(String.format(Locale.ROOT, FRAMES[random.nextInt(FRAMES.length)], 20 + random.nextInt(900))).append('\n');
+			if(random.nextInt(3) == 0)
+				line.append("Caused by: ").append(EXCEPTIONS[random.nextInt(EXCEPTIONS.length)]).append('\n')
+					.append("\t... ").append(1 + random.nextInt(40)).append(" more\n");
+		}
+	}
+
+	/**      2024-01-01 00:00:00.000 */
+	private void appendTimestamp(StringBuilder line) {
+		long ms = time % 1000, seconds = time / 1000;
+		long day = seconds / 86400 % 28 + 1, hour = seconds / 3600 % 24, minute = seconds / 60 % 60, second = seconds % 60;
+		line.append("2024-").append(pad(seconds / (86400 * 28) % 12 + 1)).append('-').append(pad(day)).append(' ')
+			.append(pad(hour)).append(':').append(pad(minute)).append(':').append(pad(second)).append('.');
+		if(ms < 100)
+			line.append('0');
+		line.append(pad(ms));
+	}
+
+	private static String pad(long value) {
+		return (value < 10) ? "0" + value : Long.toString(value);
+	}
+
+	/**
+	 *     512k, 64m, 3g
+	 * @return   
+	 */
+	public static long parseSize(String size) {
+		char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+		int shift = (unit == 'k') ? 10 : (unit == 'm') ? 20 : (unit == 'g') ? 30 : 0;
+		return Long.parseLong(shift == 0 ? size : size.substring(0, size.length() - 1)) << shift;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length == 3 && args[0].equals("--tree")) {
+			if(args[1].equals("deep"))
+				deepTree(Paths.get(args[2]), WalkBenchmark.DEEP_DEPTH, WalkBenchmark.DEEP_FAN_OUT, WalkBenchmark.DEEP_FILES);
+			else
+				wideTree(Paths.get(args[2]), WalkBenchmark.WIDE_FILES);
+			return;
+		}
+		if(args.length < 2) {
+			System.err.println(": CorpusGenerator <> <,  64m  3g> []");
+			System.err.println("               CorpusGenerator --tree deep|wide <>");
+			System.exit(2);
+		}
+		generate(Paths.get(args[0]), parseSize(args[1]), args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED);
+	}
+}
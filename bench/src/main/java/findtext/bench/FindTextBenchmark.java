@@ -0,0 +1,56 @@
+package findtext.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *      FindFiles (findText):   2    2 ,  
+ *      .  absent    - 
+ *  ;  all       .
+ *  3      (   , . -Dcorpus.dir)   .
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindTextBenchmark {
+	@Param({"256m", "3g"})
+	public String size;
+
+	@Param({"absent", "all"})
+	public String mode;
+
+	/** ,        */
+	private Path directory;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Path corpus = MatcherBenchmark.corpusDirectory();
+		Path file = CorpusGenerator.cached(corpus, CorpusGenerator.parseSize(size));
+		directory = corpus.resolve("findtext-" + size);
+		Files.createDirectories(directory);
+		Path link = directory.resolve("app.log");
+		if(!Files.exists(link)) {
+			try {
+				Files.createLink(link, file); //   
+			} catch(IOException | UnsupportedOperationException e) {
+				Files.copy(file, link, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	@Benchmark
+	public void findText() {
+		if(mode.equals("absent"))
+			App.findFiles("ConnectionTimeout~", directory.toString(), false, ".log");
+		else
+			App.findFiles("NullPointerException", directory.toString(), true, ".log");
+	}
+}
@@ -0,0 +1,67 @@
+package findtext.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *       (,    findInFile,  - ByteMatcher):
+ *    64            .
+ *    - :     .  - '~', 
+ *   :      .    - '~',
+ *       .
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatcherBenchmark {
+	/**   */
+	private static final long CORPUS_SIZE = 64L << 20;
+
+	@Param({"1", "2", "3", "4", "8", "16", "64"})
+	public int patternLength;
+
+	@Param({"frequent", "rare"})
+	public String firstByte;
+
+	private ByteBuffer buffer;
+	private Object matcher;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		Path file = CorpusGenerator.cached(corpusDirectory(), CORPUS_SIZE);
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN); //     FindFiles
+		byte[] pattern = new byte[patternLength];
+		Arrays.fill(pattern, CorpusGenerator.ABSENT_BYTE);
+		pattern[0] = firstByte.equals("frequent") ? (byte)' ' : CorpusGenerator.ABSENT_BYTE;
+		matcher = App.matcher(pattern);
+	}
+
+	/** @return   (   1    -  ) */
+	@Benchmark
+	public int findAll() {
+		int count = 0, limit = buffer.limit();
+		for(int pos = 0; (pos = App.indexOf(matcher, buffer, pos, limit)) != -1; pos++)
+			count++;
+		return count;
+	}
+
+	/** @return  : -Dcorpus.dir    */
+	static Path corpusDirectory() {
+		return Paths.get(System.getProperty("corpus.dir", Paths.get(System.getProperty("java.io.tmpdir"), "findtext-corpus").toString()));
+	}
+}
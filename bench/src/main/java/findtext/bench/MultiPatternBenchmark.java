@@ -0,0 +1,80 @@
+package findtext.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *      64  :  - (AhoCorasickMatcher)   
+ *   (HorspoolMatcher) -     .      
+ *     .   - NullPointerException    ( ),
+ *  -    8-16 ,     (    ).
+ *          ,       .
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultiPatternBenchmark {
+	/**   */
+	private static final long CORPUS_SIZE = 64L << 20;
+
+	@Param({"1", "20", "50"})
+	public int patternCount;
+
+	@Param({"ahoCorasick", "horspool"})
+	public String algorithm;
+
+	private ByteBuffer buffer;
+	private Object automaton;
+	private Object[] horspool;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		try(FileChannel channel = FileChannel.open(CorpusGenerator.cached(MatcherBenchmark.corpusDirectory(), CORPUS_SIZE), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN); //     FindFiles
+		byte[][] patterns = patterns(patternCount);
+		automaton = App.ahoCorasick(patterns);
+		horspool = new Object[patternCount];
+		for(int p = 0; p < patternCount; p++)
+			horspool[p] = App.horspool(patterns[p]);
+	}
+
+	/** @return      */
+	@Benchmark
+	public int findAll() {
+		if(algorithm.equals("ahoCorasick"))
+			return App.ahoCorasickScan(automaton, patternCount, buffer);
+		int count = 0, limit = buffer.limit();
+		for(Object matcher : horspool)
+			for(int pos = 0; (pos = App.indexOf(matcher, buffer, pos, limit)) != -1; pos++)
+				count++;
+		return count;
+	}
+
+	/** @return  : NullPointerException    (    ) */
+	private static byte[][] patterns(int count) {
+		byte[][] patterns = new byte[count][];
+		patterns[0] = "NullPointerException".getBytes(StandardCharsets.US_ASCII);
+		SplittableRandom random = new SplittableRandom(CorpusGenerator.DEFAULT_SEED);
+		for(int p = 1; p < count; p++) {
+			byte[] word = new byte[8 + random.nextInt(9)];
+			for(int i = 0; i < word.length; i++)
+				word[i] = (byte)('a' + random.nextInt(26));
+			word[word.length - 1] = CorpusGenerator.ABSENT_BYTE; //    
+			patterns[p] = word;
+		}
+		return patterns;
+	}
+}
@@ -0,0 +1,69 @@
+package findtext.bench;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *     (RegexSearcher)    64      
+ *     (    ).    
+ * : timeout -   ,    ; slowQuery -  ,
+ *   ; workerException -  ,     .
+ *      : -   .
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexBenchmark {
+	/**   */
+	private static final long CORPUS_SIZE = 64L << 20;
+
+	@Param({"timeout", "slowQuery", "workerException"})
+	public String regex;
+
+	@Param({"true", "false"})
+	public boolean prefilter;
+
+	private FileChannel channel;
+	private Object searcher;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		channel = FileChannel.open(CorpusGenerator.cached(MatcherBenchmark.corpusDirectory(), CORPUS_SIZE), StandardOpenOption.READ);
+		searcher = App.regexSearcher(expression(regex), StandardCharsets.UTF_8, prefilter);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.out.println();
+		System.out.println(App.regexStats(searcher));
+		channel.close();
+	}
+
+	/** @return   */
+	@Benchmark
+	public int findAll() {
+		return App.regexSearchAll(searcher, channel);
+	}
+
+	/** @return      */
+	private static String expression(String name) {
+		switch(name) {
+			case "timeout":
+				return "Connection is not available, request timed out after (\\d+)ms";
+			case "slowQuery":
+				return "Slow query detected: \\d{4} ms";
+			case "workerException":
+				return "worker-3\\] .*Exception";
+			default:
+				throw new IllegalArgumentException(name);
+		}
+	}
+}
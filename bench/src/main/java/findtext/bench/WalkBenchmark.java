@@ -0,0 +1,49 @@
+package findtext.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ *   (TreeWalker)  FindFiles:         
+ *         ,     -  .
+ *  ,   -  ,      ,   .
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WalkBenchmark {
+	/**  : ,   ,    (3280 ) */
+	static final int DEEP_DEPTH = 7, DEEP_FAN_OUT = 3, DEEP_FILES = 2;
+	/**  :  (     ) */
+	static final int WIDE_FILES = 20_000;
+
+	@Param({"deep", "wide"})
+	public String shape;
+
+	private Path directory;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		directory = MatcherBenchmark.corpusDirectory().resolve("tree-" + shape);
+		Path complete = directory.resolve(".complete");
+		if(Files.exists(complete))
+			return;
+		if(shape.equals("deep"))
+			CorpusGenerator.deepTree(directory, DEEP_DEPTH, DEEP_FAN_OUT, DEEP_FILES);
+		else
+			CorpusGenerator.wideTree(directory, WIDE_FILES);
+		Files.createFile(complete);
+	}
+
+	@Benchmark
+	public void walk() {
+		App.findFiles("ConnectionTimeout~", directory.toString(), false, ".log");
+	}
+}
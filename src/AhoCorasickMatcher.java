@@ -0,0 +1,166 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ *        ( -).
+ *    :     x ,
+ *              .
+ */
+public class AhoCorasickMatcher {
+	/** : next[state * 256 + byte] */
+	private final int[] next;
+	/**  ,   : outIds[outStart[state] .. outStart[state + 1]) */
+	private final int[] outStart, outIds;
+	/**     */
+	private final int[] lengths;
+	/**     */
+	private final int maxLength;
+
+	/**
+	 * @param patterns     ()
+	 */
+	public AhoCorasickMatcher(byte[][] patterns) {
+		this(patterns, null);
+	}
+
+	/**
+	 * @param patterns     ()
+	 * @param fold       (null -  ):
+	 * ,    ,  
+	 */
+	public AhoCorasickMatcher(byte[][] patterns, byte[] fold) {
+		lengths = new int[patterns.length];
+		int maxStates = 1, longest = 0;
+		for(int p = 0; p < patterns.length; p++) {
+			if(patterns[p].length == 0)
+				throw new IllegalArgumentException("     ");
+			lengths[p] = patterns[p].length;
+			maxStates += patterns[p].length;
+			longest = Math.max(longest, patterns[p].length);
+		}
+		maxLength = longest;
+		// : -1 -  
+		int[] trie = new int[maxStates * 256];
+		Arrays.fill(trie, -1);
+		int[][] ownOutputs = new int[maxStates][];
+		int states = 1;
+		for(int p = 0; p < patterns.length; p++) {
+			int state = 0;
+			for(byte b : patterns[p]) {
+				int idx = state * 256 + ((fold == null ? b : fold[b & 0xFF]) & 0xFF);
+				if(trie[idx] == -1)
+					trie[idx] = states++;
+				state = trie[idx];
+			}
+			ownOutputs[state] = append(ownOutputs[state], p);
+		}
+		//   :        
+		next = Arrays.copyOf(trie, states * 256);
+		int[] fail = new int[states];
+		int[][] outputs = new int[states][];
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for(int c = 0; c < 256; c++) {
+			int child = next[c];
+			if(child == -1)
+				next[c] = 0;
+			else {
+				fail[child] = 0;
+				queue.add(child);
+			}
+		}
+		outputs[0] = ownOutputs[0];
+		while(!queue.isEmpty()) {
+			int state = queue.poll();
+			outputs[state] = concat(ownOutputs[state], outputs[fail[state]]);
+			for(int c = 0; c < 256; c++) {
+				int idx = state * 256 + c;
+				int child = next[idx];
+				if(child == -1)
+					next[idx] = next[fail[state] * 256 + c];
+				else {
+					fail[child] = next[fail[state] * 256 + c];
+					queue.add(child);
+				}
+			}
+		}
+		if(fold != null) //    ,      
+			for(int s = 0; s < states; s++)
+				for(int c = 0; c < 256; c++)
+					next[s * 256 + c] = next[s * 256 + (fold[c] & 0xFF)];
+		outStart = new int[states + 1];
+		for(int s = 0; s < states; s++)
+			outStart[s + 1] = outStart[s] + (outputs[s] == null ? 0 : outputs[s].length);
+		outIds = new int[outStart[states]];
+		for(int s = 0; s < states; s++)
+			if(outputs[s] != null)
+				System.arraycopy(outputs[s], 0, outIds, outStart[s], outputs[s].length);
+	}
+
+	/** @return   */
+	public int patternCount() {
+		return lengths.length;
+	}
+
+	/** @return     */
+	public int maxLength() {
+		return maxLength;
+	}
+
+	/**
+	 *       
+	 * @param buffer 
+	 * @param from     
+	 * @param to      ( )
+	 * @param reportTo   ,     
+	 * @param minEnd   ,        
+	 * @param base     
+	 * @param hits     (    )
+	 * @param maxHits        (1 -  )
+	 */
+	public void scan(ByteBuffer buffer, int from, int to, int reportTo, int minEnd, long base, OffsetList[] hits, int maxHits) {
+		int state = 0;
+		int remaining = lengths.length; //      
+		for(int blockStart = from; blockStart < to; blockStart += 1 << 20) { //    
+			if(Thread.currentThread().isInterrupted())
+				return;
+			int blockEnd = Math.min(blockStart + (1 << 20), to);
+			for(int i = blockStart; i < blockEnd; i++) {
+				state = next[(state << 8) | (buffer.get(i) & 0xFF)];
+				if(i < minEnd)
+					continue;
+				for(int o = outStart[state], end = outStart[state + 1]; o < end; o++) {
+					int p = outIds[o];
+					int start = i - lengths[p] + 1;
+					if(start < from || start >= reportTo)
+						continue;
+					if(hits[p] == null)
+						hits[p] = new OffsetList();
+					else if(hits[p].size() >= maxHits)
+						continue;
+					hits[p].add(base + start + 1);
+					if(hits[p].size() >= maxHits && --remaining == 0) //     
+						return;
+				}
+			}
+		}
+	}
+
+	private static int[] append(int[] array, int value) {
+		if(array == null)
+			return new int[] {value};
+		int[] result = Arrays.copyOf(array, array.length + 1);
+		result[array.length] = value;
+		return result;
+	}
+
+	private static int[] concat(int[] a, int[] b) {
+		if(a == null)
+			return b;
+		if(b == null)
+			return a;
+		int[] result = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, result, a.length, b.length);
+		return result;
+	}
+}
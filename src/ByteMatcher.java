@@ -0,0 +1,36 @@
+import java.nio.ByteBuffer;
+
+/**
+ *      .
+ *      ( .. MappedByteBuffer)   get,
+ *      .
+ */
+public interface ByteMatcher {
+	/**  ,     -- */
+	int HORSPOOL_MIN_LENGTH = 4;
+
+	/**
+	 *     
+	 * @param buffer ,   
+	 * @param from     
+	 * @param to      ( )
+	 * @return       -1,   
+	 */
+	int indexOf(ByteBuffer buffer, int from, int to);
+
+	/** @return      */
+	int length();
+
+	/**
+	 *      
+	 * @param pattern    
+	 * @return  
+	 */
+	static ByteMatcher create(byte[] pattern) {
+		if(pattern.length == 0)
+			return new NaiveMatcher(pattern); //       
+		if(pattern.length >= HORSPOOL_MIN_LENGTH)
+			return new HorspoolMatcher(pattern);
+		return new SwarMatcher(pattern); //         
+	}
+}
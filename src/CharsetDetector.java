@@ -0,0 +1,97 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *     BOM          .
+ *  UTF-8, UTF-16LE/BE  8- ;     ASCII   .
+ */
+public class CharsetDetector {
+	/**       */
+	static final int SAMPLE_SIZE = 4096;
+	/** 8- ,     :      windows-1251 */
+	private static final String LEGACY_CHARSET = "windows-1251";
+
+	/**
+	 *    
+	 * @param channel  
+	 * @return   null,       (,    ASCII)
+	 */
+	public static Charset detect(FileChannel channel) throws IOException {
+		ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+		while(sample.hasRemaining() && channel.read(sample, sample.position()) > 0)
+			;
+		sample.flip();
+		return detect(sample);
+	}
+
+	/**
+	 *     
+	 * @param sample  
+	 * @return   null,    
+	 */
+	static Charset detect(ByteBuffer sample) {
+		int n = sample.limit();
+		if(n >= 3 && (sample.get(0) & 0xFF) == 0xEF && (sample.get(1) & 0xFF) == 0xBB && (sample.get(2) & 0xFF) == 0xBF)
+			return StandardCharsets.UTF_8;
+		if(n >= 2 && (sample.get(0) & 0xFF) == 0xFF && (sample.get(1) & 0xFF) == 0xFE)
+			return StandardCharsets.UTF_16LE;
+		if(n >= 2 && (sample.get(0) & 0xFF) == 0xFE && (sample.get(1) & 0xFF) == 0xFF)
+			return StandardCharsets.UTF_16BE;
+		// UTF-16  BOM:        
+		int evenZeros = 0, oddZeros = 0, pairs = n / 2;
+		for(int i = 0; i + 1 < n; i += 2) {
+			if(sample.get(i) == 0)
+				evenZeros++;
+			if(sample.get(i + 1) == 0)
+				oddZeros++;
+		}
+		if(pairs > 0 && oddZeros > pairs * 2 / 5 && evenZeros < pairs / 20)
+			return StandardCharsets.UTF_16LE;
+		if(pairs > 0 && evenZeros > pairs * 2 / 5 && oddZeros < pairs / 20)
+			return StandardCharsets.UTF_16BE;
+		boolean ascii = true;
+		for(int i = 0; i < n && ascii; i++)
+			ascii = sample.get(i) >= 0;
+		if(ascii)
+			return null;
+		return isUtf8(sample) ? StandardCharsets.UTF_8 : legacyCharset();
+	}
+
+	/** @return 8-   ,    UTF-8 */
+	public static Charset legacyCharset() {
+		Charset platform = Charset.defaultCharset();
+		if(platform.newEncoder().maxBytesPerChar() == 1)
+			return platform;
+		return Charset.isSupported(LEGACY_CHARSET) ? Charset.forName(LEGACY_CHARSET) : StandardCharsets.ISO_8859_1;
+	}
+
+	/** @return    UTF-8 (   ) */
+	private static boolean isUtf8(ByteBuffer sample) {
+		int n = sample.limit();
+		for(int i = 0; i < n; ) {
+			int b = sample.get(i) & 0xFF;
+			int tail;
+			if(b < 0x80)
+				tail = 0;
+			else if(b >= 0xC2 && b <= 0xDF)
+				tail = 1;
+			else if(b >= 0xE0 && b <= 0xEF)
+				tail = 2;
+			else if(b >= 0xF0 && b <= 0xF4)
+				tail = 3;
+			else
+				return false;
+			for(int j = 1; j <= tail; j++) {
+				if(i + j >= n) //    
+					return true;
+				if((sample.get(i + j) & 0xC0) != 0x80)
+					return false;
+			}
+			i += tail + 1;
+		}
+		return true;
+	}
+}
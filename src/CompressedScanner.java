@@ -0,0 +1,182 @@
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ *    (gzip, zip) .         ,
+ *      ,       ,
+ *              .
+ */
+public class CompressedScanner {
+	/**    */
+	public enum Format { GZIP, ZIP }
+
+	/**     */
+	private static final int BUFFER_SIZE = 1 << 20;
+	/**        */
+	private static final int POOL_SIZE = 64;
+	/**   */
+	private static final ArrayBlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+	/**     */
+	public interface WindowScanner {
+		/**
+		 * @param window  (  )
+		 * @param limit    
+		 * @param last     
+		 * @param base      
+		 * @return        (    )
+		 *  -1,    
+		 */
+		int scan(ByteBuffer window, int limit, boolean last, long base);
+	}
+
+	/**
+	 *      
+	 * @param path   
+	 * @return     null,    
+	 */
+	public static Format formatOf(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return formatOf(channel);
+		}
+	}
+
+	/**
+	 *       
+	 * @param channel  
+	 * @return     null,    
+	 */
+	public static Format formatOf(FileChannel channel) throws IOException {
+		ByteBuffer magic = ByteBuffer.allocate(4);
+		while(magic.hasRemaining() && channel.read(magic, magic.position()) > 0)
+			;
+		if(magic.position() >= 2 && (magic.get(0) & 0xFF) == 0x1F && (magic.get(1) & 0xFF) == 0x8B)
+			return Format.GZIP;
+		if(magic.position() == 4 && magic.get(0) == 'P' && magic.get(1) == 'K' && magic.get(2) == 3 && magic.get(3) == 4)
+			return Format.ZIP;
+		return null;
+	}
+
+	/**
+	 *     
+	 * @param path    
+	 * @param entry   zip (null -  )
+	 * @return   
+	 */
+	public static InputStream open(Path path, String entry) throws IOException {
+		if(formatOf(path) == Format.GZIP)
+			return new GZIPInputStream(Files.newInputStream(path), 1 << 16);
+		ZipFile zip = new ZipFile(path.toFile());
+		try {
+			ZipEntry zipEntry = (entry != null) ? zip.getEntry(entry) : firstEntry(zip);
+			if(zipEntry == null)
+				throw new IOException("  " + entry + "   " + path);
+			return new FilterInputStream(zip.getInputStream(zipEntry)) {
+				@Override
+				public void close() throws IOException { //      
+					try {
+						super.close();
+					} finally {
+						zip.close();
+					}
+				}
+			};
+		} catch(IOException | RuntimeException e) {
+			zip.close();
+			throw e;
+		}
+	}
+
+	/**
+	 *       
+	 * @param path    
+	 * @param entry   zip (null -  )
+	 * @return    ( gzip -    ,   4 )  -1
+	 */
+	public static long contentLength(Path path, String entry) throws IOException {
+		if(formatOf(path) == Format.GZIP) {
+			try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				ByteBuffer size = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+				channel.read(size, channel.size() - 4);
+				return size.getInt(0) & 0xFFFFFFFFL;
+			}
+		}
+		try(ZipFile zip = new ZipFile(path.toFile())) {
+			ZipEntry zipEntry = (entry != null) ? zip.getEntry(entry) : firstEntry(zip);
+			return (zipEntry == null) ? -1 : zipEntry.getSize();
+		}
+	}
+
+	/** @return   ,   ,  null */
+	private static ZipEntry firstEntry(ZipFile zip) {
+		for(Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+			ZipEntry zipEntry = entries.nextElement();
+			if(!zipEntry.isDirectory())
+				return zipEntry;
+		}
+		return null;
+	}
+
+	/**
+	 *    
+	 * @param in   
+	 * @param minCapacity    (  )
+	 * @param io       : ,   ,  null,
+	 *       (null -  )
+	 * @param scanner  
+	 */
+	public static void scan(InputStream in, int minCapacity, Supplier<IoLimiter> io, WindowScanner scanner) throws IOException {
+		byte[] array = buffers.poll();
+		if(array == null || array.length < minCapacity)
+			array = new byte[Math.max(BUFFER_SIZE, minCapacity)];
+		try {
+			ByteBuffer window = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN); //    SwarMatcher
+			int filled = 0;
+			long base = 0;
+			boolean eof = false;
+			while(!eof && !Thread.currentThread().isInterrupted()) {
+				IoLimiter limiter = (io == null) ? null : io.get();
+				if(io != null && limiter == null)
+					return;
+				int processed;
+				try {
+					while(filled < array.length) {
+						int read = in.read(array, filled, array.length - filled);
+						if(read < 0) {
+							eof = true;
+							break;
+						}
+						filled += read;
+					}
+					processed = scanner.scan(window, filled, eof, base);
+				} finally {
+					if(limiter != null)
+						limiter.release();
+				}
+				if(processed < 0)
+					return;
+				if(processed == 0) //    (  ) -   
+					processed = filled;
+				System.arraycopy(array, processed, array, 0, filled - processed);
+				filled -= processed;
+				base += processed;
+			}
+		} finally {
+			if(array.length == BUFFER_SIZE)
+				buffers.offer(array);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *      :  ,       
+ * ,    ,        .
+ *  ,      NUL     ;  8-
+ *  (   UTF-8)     0x80-0x9F,  UTF-16 - ,   .
+ *     :     .
+ */
+public class ContentClassifier {
+	/**       */
+	static final int SAMPLE_SIZE = CharsetDetector.SAMPLE_SIZE;
+	/**      ,      */
+	private static final double MAX_CONTROL_DENSITY = 0.1;
+
+	/**      */
+	public enum BinaryPolicy {
+		/**    */
+		SEARCH,
+		/**    ,    ;       */
+		LITERAL,
+		/**   */
+		SKIP
+	}
+
+	/**
+	 *  ,   
+	 * @param channel  
+	 * @return    (  - )
+	 */
+	public static boolean isBinary(FileChannel channel) throws IOException {
+		ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+		while(sample.hasRemaining() && channel.read(sample, sample.position()) > 0)
+			;
+		sample.flip();
+		return isBinary(sample);
+	}
+
+	/**
+	 *  ,   
+	 * @param sample  
+	 * @return   
+	 */
+	static boolean isBinary(ByteBuffer sample) {
+		int n = sample.limit();
+		Charset charset = CharsetDetector.detect(sample);
+		if(charset == StandardCharsets.UTF_16LE || charset == StandardCharsets.UTF_16BE)
+			return isBinaryUtf16(sample, charset == StandardCharsets.UTF_16LE);
+		boolean legacy = charset != null && charset != StandardCharsets.UTF_8; //    UTF-8
+		int controls = 0;
+		for(int i = 0; i < n; i++) {
+			int b = sample.get(i) & 0xFF;
+			if(b == 0) //   NUL  
+				return true;
+			if(isControl(b) || (legacy && b >= 0x80 && b <= 0x9F))
+				controls++;
+		}
+		return controls > n * MAX_CONTROL_DENSITY;
+	}
+
+	/** @return   ,   UTF-16 (       ) */
+	private static boolean isBinaryUtf16(ByteBuffer sample, boolean littleEndian) {
+		int units = sample.limit() / 2, controls = 0;
+		for(int i = 0; i < units; i++) {
+			int low = sample.get(2 * i) & 0xFF, high = sample.get(2 * i + 1) & 0xFF;
+			int unit = littleEndian ? (high << 8 | low) : (low << 8 | high);
+			if(isControl(unit))
+				controls++;
+		}
+		return controls > units * MAX_CONTROL_DENSITY;
+	}
+
+	/** @return   ,     (,    ESC   - ) */
+	private static boolean isControl(int c) {
+		return (c < 0x20 && c != '\t' && c != '\n' && c != '\r' && c != '\f' && c != 0x0B && c != 0x1B) || c == 0x7F;
+	}
+}
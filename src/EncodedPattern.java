@@ -0,0 +1,220 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  ,    .      
+ *   :      ,     -  
+ *  ,       .
+ */
+public class EncodedPattern {
+	/**   */
+	private final String text;
+	/**    null -     */
+	private final Charset charset;
+	/**      */
+	private final boolean ignoreCase;
+	/**    ; ,     , - NOT_ENCODABLE */
+	private final ConcurrentHashMap<Charset, ByteMatcher> matchers = new ConcurrentHashMap<>();
+	/**       */
+	private volatile ByteMatcher undetermined;
+
+	/**  ,      */
+	private static final ByteMatcher NOT_ENCODABLE = new NaiveMatcher(new byte[0]);
+
+	/**
+	 * @param text  
+	 * @param charset    null    BOM   
+	 * @param ignoreCase     
+	 */
+	public EncodedPattern(String text, Charset charset, boolean ignoreCase) {
+		this.text = text;
+		this.charset = charset;
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 *    
+	 * @param channel  
+	 * @return  ,     null,    
+	 */
+	public Charset charsetOf(FileChannel channel) throws IOException {
+		return (charset != null) ? charset : CharsetDetector.detect(channel);
+	}
+
+	/**
+	 *       
+	 * @param window    
+	 * @param limit    
+	 * @return  ,     null,    
+	 */
+	public Charset charsetOf(ByteBuffer window, int limit) {
+		if(charset != null)
+			return charset;
+		ByteBuffer sample = window.duplicate();
+		sample.limit(Math.min(limit, CharsetDetector.SAMPLE_SIZE));
+		return CharsetDetector.detect(sample);
+	}
+
+	/**
+	 *      
+	 * @param fileCharset    null,    :  
+	 *      , UTF-8  8- 
+	 * @return   null,       
+	 */
+	public ByteMatcher matcher(Charset fileCharset) {
+		if(fileCharset == null) {
+			if(undetermined == null)
+				undetermined = compileAny(guessedCharsets());
+			return undetermined == NOT_ENCODABLE ? null : undetermined;
+		}
+		ByteMatcher matcher = matchers.computeIfAbsent(fileCharset, cs -> compileAny(Arrays.asList(cs)));
+		return matcher == NOT_ENCODABLE ? null : matcher;
+	}
+
+	/**
+	 * @param fileCharset  
+	 * @return      null,       
+	 * (      )
+	 */
+	public byte[] exactBytes(Charset fileCharset) {
+		if(ignoreCase)
+			return null;
+		if(fileCharset != null)
+			return encode(text, fileCharset);
+		List<byte[]> encodings = distinctEncodings(text, guessedCharsets());
+		return encodings.size() == 1 ? encodings.get(0) : null;
+	}
+
+	/** @return ,          */
+	private static List<Charset> guessedCharsets() {
+		Set<Charset> charsets = new LinkedHashSet<>();
+		charsets.add(Charset.defaultCharset());
+		charsets.add(StandardCharsets.UTF_8);
+		charsets.add(CharsetDetector.legacyCharset());
+		return new ArrayList<>(charsets);
+	}
+
+	/** @return         NOT_ENCODABLE */
+	private ByteMatcher compileAny(List<Charset> charsets) {
+		if(!ignoreCase) {
+			List<byte[]> encodings = distinctEncodings(text, charsets);
+			if(encodings.isEmpty())
+				return NOT_ENCODABLE;
+			if(encodings.size() == 1 || text.isEmpty())
+				return ByteMatcher.create(encodings.get(0));
+		}
+		else if(text.isEmpty())
+			return ByteMatcher.create(new byte[0]);
+		List<byte[][][]> variants = new ArrayList<>();
+		for(Charset cs : charsets) {
+			byte[][][] units = ignoreCase ? caseVariants(text, cs) : singleVariant(encode(text, cs));
+			if(units != null && !containsVariant(variants, units))
+				variants.add(units);
+		}
+		return variants.isEmpty() ? NOT_ENCODABLE : new VariantMatcher(variants);
+	}
+
+	/** @return      ( ,    ) */
+	private static List<byte[]> distinctEncodings(String text, List<Charset> charsets) {
+		List<byte[]> encodings = new ArrayList<>();
+		for(Charset cs : charsets) {
+			byte[] bytes = encode(text, cs);
+			if(bytes != null && encodings.stream().noneMatch(b -> Arrays.equals(b, bytes)))
+				encodings.add(bytes);
+		}
+		return encodings;
+	}
+
+	/** @return          null */
+	private static byte[][][] singleVariant(byte[] bytes) {
+		if(bytes == null)
+			return null;
+		return new byte[][][] {{bytes}};
+	}
+
+	/**
+	 *        
+	 * @return    -   ,      null,
+	 *      
+	 */
+	static byte[][][] caseVariants(String text, Charset cs) {
+		int[] codePoints = text.codePoints().toArray();
+		byte[][][] units = new byte[codePoints.length][][];
+		for(int i = 0; i < codePoints.length; i++) {
+			int cp = codePoints[i];
+			List<byte[]> alternatives = new ArrayList<>();
+			for(int variant : new int[] {cp, Character.toLowerCase(cp), Character.toUpperCase(cp), Character.toTitleCase(cp)}) {
+				byte[] bytes = encode(new String(Character.toChars(variant)), cs);
+				if(bytes == null) {
+					if(variant == cp) //      
+						return null;
+					continue;
+				}
+				if(alternatives.stream().noneMatch(b -> Arrays.equals(b, bytes)))
+					alternatives.add(bytes);
+			}
+			units[i] = alternatives.toArray(new byte[0][]);
+		}
+		return units;
+	}
+
+	/** @return      */
+	private static boolean containsVariant(List<byte[][][]> variants, byte[][][] units) {
+		for(byte[][][] variant : variants)
+			if(Arrays.deepEquals(variant, units))
+				return true;
+		return false;
+	}
+
+	/**
+	 *       
+	 * @return    BOM  null,      
+	 */
+	static byte[] encode(String text, Charset cs) {
+		try {
+			ByteBuffer encoded = cs.newEncoder().encode(CharBuffer.wrap(text));
+			byte[] bytes = new byte[encoded.remaining()];
+			encoded.get(bytes);
+			//  UTF-16  BOM,       
+			if(cs.name().equals("UTF-16") && bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF)
+				bytes = Arrays.copyOfRange(bytes, 2, bytes.length);
+			return bytes;
+		} catch(CharacterCodingException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 *          8- .
+	 *        ASCII
+	 * @param cs 
+	 * @return :  -   
+	 */
+	static byte[] caseFoldTable(Charset cs) {
+		byte[] table = new byte[256];
+		boolean singleByte = cs.newEncoder().maxBytesPerChar() == 1;
+		for(int b = 0; b < 256; b++) {
+			table[b] = (byte)b;
+			if(b >= 'A' && b <= 'Z')
+				table[b] = (byte)(b + ('a' - 'A'));
+			else if(singleByte && b >= 0x80) {
+				String decoded = new String(new byte[] {(byte)b}, cs);
+				byte[] lower = encode(String.valueOf(Character.toLowerCase(decoded.charAt(0))), cs);
+				if(lower != null && lower.length == 1)
+					table[b] = lower[0];
+			}
+		}
+		return table;
+	}
+}
@@ -1,62 +1,176 @@
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
-import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
- *        
+ *        .   -   
+ *   ,  ,    (stopSearch),   
+ *   .      - (ioLimiter)  :
+ *    ,   .      :  
+ * ,   ,   .       getInstance(),
+ *          
  */
-public class FindFiles {
+public class FindFiles implements AutoCloseable {
 	/**       */
 	public volatile boolean processing = false;
+	/**      (  findFilesInDirectory    ) */
+	private final AtomicBoolean running = new AtomicBoolean();
 	/**       */
 	public volatile boolean searching = false; 
-	/**        */
-	public volatile ConcurrentLinkedQueue<FindedFile> queue = new ConcurrentLinkedQueue<FindedFile>();
-	/**       */
-	public volatile int filesInProgressCount = 0; 
-	/**    */
-	public volatile int	filesDoneCount = 0;
-	/**        */
-	public volatile int	totalFiles = 0; 
-	/**    */
-	public volatile long startedTime = System.nanoTime(); 
+	/**     ;          */
+	private volatile ResultChannel results = new ResultChannel();
+	/**  : , , ,  (   JMX) */
+	private final SearchMetrics metrics = new SearchMetrics();
+	/**       ,     */
+	public volatile boolean findAllOccurrences = false;
+	/**       */
+	public volatile int maxHitsPerFile = 100_000;
+	/**       (    ) */
+	public volatile long maxHitsTotal = 10_000_000;
+	/**       */
+	private final AtomicLong totalHits = new AtomicLong();
 	/**     */
 	private final int maxFileSize = 50_000_000;
-	/**       */
-	private ExecutorService threadPool, largeFilesPool; 
+	/**           (-1 -  , 0 -   ) */
+	public volatile int contextLines = -1;
+	/**        */
+	public volatile int maxContextHits = 100;
+	/**             */
+	public volatile int maxContextBytes = 2048;
+	/**      : , ,   (null -  ) */
+	public volatile SearchFilter filter = null;
+	/**    ,       ( ,  ) */
+	public volatile ContentClassifier.BinaryPolicy binaryPolicy = ContentClassifier.BinaryPolicy.SKIP;
+	/**     (1 -  Files.walkFileTree);      */
+	public volatile int walkConcurrency = Math.max(Runtime.getRuntime().availableProcessors(), 4);
+	/**     */
+	public volatile int ioConcurrency = Runtime.getRuntime().availableProcessors();
+	/**      ;   ,     */
+	public volatile int maxPendingFiles = 10_000;
+	/**      - */
+	public volatile IoLimiter ioLimiter = IoLimiter.global();
+	/**      -:    ioConcurrency (maxOpenFiles)  */
+	private final AtomicReference<IoLimiter.Session> ioSession = new AtomicReference<>();
+	/**     -;       */
+	public volatile IoLimiter.Priority priority = IoLimiter.Priority.INTERACTIVE;
+	/**               (Java 21+) */
+	public volatile boolean useVirtualThreads = false;
+	/**   (    )         */
+	public volatile int maxOpenFiles = 256;
+	/**             */
+	public volatile long maxMappedBytes = 1L << 30;
+	/**      (   ) */
+	public volatile boolean regexMode = false;
+	/**   (null -   BOM    ) */
+	public volatile Charset charset = null;
+	/**      */
+	public volatile boolean ignoreCase = false;
+	/**       (null -   ) */
+	private volatile String[] patterns;
+	/**        (      ) */
+	private volatile AhoCorasickMatcher multiMatcher;
+	/**        */
+	private final ConcurrentHashMap<Charset, AhoCorasickMatcher> multiMatchers = new ConcurrentHashMap<>();
+	/**        */
+	private volatile boolean searchIgnoreCase;
+	/**       (null -    ) */
+	private volatile RegexSearcher regexSearcher;
+	/**          */
+	public volatile boolean followNewData = false;
+	/**        */
+	public volatile boolean following = false;
+	/**       (null -  ) */
+	private volatile LogFollower follower;
+	/**         */
+	public volatile boolean useIndex = false;
+	/**     (null -  ) */
+	private volatile TrigramIndex index;
+	/**         */
+	public volatile boolean useResultCache = false;
+	/**       (~/.findtextinlogs/results) */
+	public volatile boolean persistResultCache = false;
+	/**     (null -  ) */
+	private volatile ResultCache resultCache;
+	/**        */
+	private volatile String cacheQuery;
+	/**      -     */
+	private final ConcurrentHashMap<Path, List<FindedFile>> pendingResults = new ConcurrentHashMap<>();
+	/**       */
+	private volatile ScanScheduler scheduler; 
+	/**     (null -  ) */
+	private volatile ParallelTreeWalker treeWalker;
+	/**          */
+	private ForkJoinPool regionPool;
+	/**    ,     */
+	private final int regionSize = 64 << 20;
+	/**   ,       */
+	private final int scanBlockSize = 1 << 20;
 	/** ,    */
 	private String textToFind;	
-	/** instance    */
+	/**       */
+	private EncodedPattern textPattern;
+	/**      (      zip) */
+	private volatile String[] searchExtensions;
+	/**    ( ) */
 	private static volatile FindFiles instance;
 	
-	/**     */
+	/**     ;        */
 	class TreeWalker implements FileVisitor<Path>{
-		/**    */
-		private String extension;
+		/**    */
+		private String[] extensions;
+		/**  ,        */
+		private final Path root;
+		/**     (null -  ) */
+		private final SearchFilter filter;
 		
-		public TreeWalker(String ext) {
-			extension = ext;
+		public TreeWalker(Path root, SearchFilter filter, String... ext) {
+			this.root = root;
+			this.filter = filter;
+			extensions = ext;
+		}
+		
+		/**  ,            ;  zip    */
+		private boolean hasNeededExtension(Path file) {
+			String name = file.toString();
+			if(!name.endsWith(".zip") && !hasExtension(name, extensions))
+				return false;
+			return filter == null || filter.acceptsName(root.relativize(file));
 		}
 		
 		/** , ,      */
 		@Override
 		public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
-			if(file.toString().endsWith(extension)) { //     
-				totalFiles++; //       
-				//         
-				if(file.toFile().length() < maxFileSize) 
-					threadPool.execute(() -> { 
-						checkFileForNeedText(file);
-					});
-				else 
-					largeFilesPool.execute(() -> { //         
-						checkFileForNeedText(file);
-					});
+			//        ,   
+			if(hasNeededExtension(file) && (filter == null || filter.accepts(root.relativize(file), attr))) {
+				metrics.fileFound(); //       
+				LogFollower searchFollower = follower;
+				if(searchFollower != null) //      
+					searchFollower.remember(file, attr.size());
+				//      ,      
+				scheduler.submit(attr.size(), () -> {
+					checkFileForNeedText(file, attr);
+				});
 			}			
 			if(Thread.currentThread().isInterrupted()) 
 				return FileVisitResult.TERMINATE;
@@ -74,6 +188,11 @@ public class FindFiles {
 		public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes arg1) throws IOException {
 			if(Thread.currentThread().isInterrupted())
 				return FileVisitResult.TERMINATE;
+			if(filter != null && !path.equals(root) && filter.excludesDirectory(root.relativize(path)))
+				return FileVisitResult.SKIP_SUBTREE; //       
+			LogFollower searchFollower = follower;
+			if(searchFollower != null) //          
+				searchFollower.tryRegister(path);
 			return FileVisitResult.CONTINUE;
 		}
 
@@ -85,14 +204,86 @@ public class FindFiles {
 		}
 	}
 	
-	/**      */
-	private FindFiles() {}
+	/**         */
+	class RegionTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		/**    */
+		private final FileChannel channel;
+		/**   */
+		private final long fileSize;
+		/**   ,     */
+		private final int fromRegion, toRegion;
+		/**    (null -   ) */
+		private final OffsetList[] regionHits;
+		/**        */
+		private final AtomicLong earliest;
+		/**     */
+		private final ByteMatcher matcher;
+		
+		RegionTask(FileChannel channel, ByteMatcher matcher, long fileSize, int fromRegion, int toRegion, OffsetList[] regionHits, AtomicLong earliest) {
+			this.channel = channel;
+			this.matcher = matcher;
+			this.fileSize = fileSize;
+			this.fromRegion = fromRegion;
+			this.toRegion = toRegion;
+			this.regionHits = regionHits;
+			this.earliest = earliest;
+		}
+		
+		@Override
+		protected void compute() {
+			if(toRegion - fromRegion > 1) { //    
+				int mid = (fromRegion + toRegion) >>> 1;
+				invokeAll(new RegionTask(channel, matcher, fileSize, fromRegion, mid, regionHits, earliest),
+						  new RegionTask(channel, matcher, fileSize, mid, toRegion, regionHits, earliest));
+				return;
+			}
+			long start = (long)fromRegion * regionSize;
+			//   ,           
+			if(regionPool.isShutdown() || (regionHits == null && earliest.get() <= start))
+				return;
+			OffsetList hits = null;
+			if(regionHits != null)
+				hits = regionHits[fromRegion] = new OffsetList();
+			try {
+				long pos = scanRegion(channel, matcher, start, Math.min(start + regionSize, fileSize), fileSize, hits, earliest);
+				if(pos != -1)
+					earliest.accumulateAndGet(pos, Math::min);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	/**
+	 *      .     :
+	 *  (app.log.gz)   (app.log.1, app.log.1.gz)
+	 * @param name  
+	 * @param extensions  
+	 * @return      
+	 */
+	static boolean hasExtension(String name, String[] extensions) {
+		String rotated = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+		rotated = rotated.replaceFirst("\\.\\d+$", "");
+		for(String extension : extensions)
+			if(name.endsWith(extension) || rotated.endsWith(extension))
+				return true;
+		return false;
+	}
+	
+	/**
+	 *    .     JMX    (close)
+	 * @param name    JMX (null -    )
+	 */
+	public FindFiles(String name) {
+		metrics.register(name);
+	}
 	
 	public static synchronized FindFiles getInstance() {
 		if(instance == null) {
 			synchronized(FindFiles.class) {
 				if(instance == null)
-					instance = new FindFiles();
+					instance = new FindFiles(null);
 			}
 		}
 		return instance;
@@ -102,140 +293,917 @@ public class FindFiles {
 	 *    
 	 * @param textToFind ,   
 	 * @param pathToDir   ,    
-	 * @param extension  
+	 * @param extensions  
+	 * @throws java.util.regex.PatternSyntaxException    ,   
 	 */
-	public void findFilesInDirectory(String textToFind, String pathToDir, String extension) {
+	public void findFilesInDirectory(String textToFind, String pathToDir, String... extensions) {
+		findFilesInDirectory(new String[] {textToFind}, pathToDir, extensions);
+	}
+	
+	/**
+	 *     :     ,
+	 *       
+	 * @param textsToFind ,   
+	 * @param pathToDir   ,    
+	 * @param extensions  
+	 * @throws IllegalArgumentException            
+	 * @throws IllegalStateException      
+	 */
+	public void findFilesInDirectory(String[] textsToFind, String pathToDir, String... extensions) {
+		// ,      -    -    
+		if(!running.compareAndSet(false, true))
+			throw new IllegalStateException("    ,      ");
+		try {
+			search(textsToFind, pathToDir, extensions);
+		} finally {
+			running.set(false);
+		}
+	}
+	
+	/**   (  findFilesInDirectory,      ) */
+	private void search(String[] textsToFind, String pathToDir, String... extensions) {
+		String textToFind = textsToFind[0];
+		if(regexMode && textsToFind.length > 1)
+			throw new IllegalArgumentException("    ");
+		boolean searchIgnoreCase = ignoreCase;
+		//     :    
+		Charset searchCharset = (charset != null) ? charset : Charset.defaultCharset();
+		RegexSearcher searcher = regexMode ? new RegexSearcher(textToFind, searchCharset, searchIgnoreCase, metrics) : null;
+		AhoCorasickMatcher multi = (textsToFind.length > 1) ? compilePatterns(textsToFind, searchCharset, searchIgnoreCase) : null;
 		processing = true;
 		searching = true;
 		Path path = Paths.get(pathToDir);
-		filesInProgressCount = 0;
-		filesDoneCount = 0;
 		this.textToFind = textToFind;
-		queue.clear();
-		totalFiles = 0;
-		startedTime = System.nanoTime(); 
-		threadPool = Executors.newCachedThreadPool();
-		largeFilesPool = Executors.newSingleThreadExecutor(); //    
-															//   > ~50 
+		textPattern = new EncodedPattern(textToFind, charset, searchIgnoreCase); //   -    
+		this.searchIgnoreCase = searchIgnoreCase;
+		regexSearcher = searcher;
+		multiMatchers.clear();
+		if(multi != null)
+			multiMatchers.put(searchCharset, multi);
+		multiMatcher = multi;
+		patterns = textsToFind.clone();
+		searchExtensions = extensions.clone();
+		TrigramIndex searchIndex = index = useIndex ? TrigramIndex.open(path) : null;
+		ResultCache cache = resultCache = useResultCache ? ResultCache.get(persistResultCache) : null;
+		cacheQuery = ResultCache.queryKey(textsToFind, regexMode, searchIgnoreCase, String.valueOf(charset),
+										  findAllOccurrences, maxHitsPerFile, String.valueOf(binaryPolicy), extensions);
+		if(cache != null)
+			cache.resetStats();
+		pendingResults.clear();
+		results.clear();
+		totalHits.set(0);
+		metrics.reset(results);
+		ScanScheduler scanScheduler = scheduler = createScheduler();
+		int sessionConcurrency = (scanScheduler instanceof VirtualScanScheduler) ? maxOpenFiles : ioConcurrency;
+		closeIoSession(ioSession.getAndSet(ioLimiter.join(sessionConcurrency)));
+		regionPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors()); //     
+		LogFollower searchFollower = null;
+		if(followNewData) { //       
+			try {
+				searchFollower = follower = new LogFollower(path.getFileSystem());
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		}
+		TreeWalker walker = new TreeWalker(path, filter, extensions);
 		try {			
-			//   
-			Files.walkFileTree(path, new TreeWalker(extension));
-			searching = false;
-			if(totalFiles == filesDoneCount) 
-				processing = false;
+			//   :      
+			if(walkConcurrency > 1) { //          
+				ParallelTreeWalker parallelWalker = treeWalker = (scanScheduler instanceof VirtualScanScheduler)
+						? new ParallelTreeWalker(walker, maxOpenFiles, true) : new ParallelTreeWalker(walker, walkConcurrency);
+				parallelWalker.walk(path);
+			}
+			else {
+				treeWalker = null;
+				Files.walkFileTree(path, walker);
+			}
 		}
 		catch(IOException e) {
 			e.printStackTrace();
 		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		metrics.walkFinished();
+		searching = false;
+		try {
+			scanScheduler.awaitCompletion(); // ,      
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(searchIndex != null && !Thread.currentThread().isInterrupted()) {
+			try {
+				searchIndex.save();
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		}
+		if(cache != null && !Thread.currentThread().isInterrupted()) {
+			try {
+				cache.save();
+			} catch(IOException e) {
+				e.printStackTrace();
+			}
+		}
+		if(searchFollower != null && !Thread.currentThread().isInterrupted()) {
+			scanScheduler.shutdownNow(); //      
+			// regionPool    :      ;    stopSearch
+			following = true;
+			searchFollower.follow(walker::hasNeededExtension, this); //   
+			following = false;
+		}
+		stopSearch();
+	}
+	
+	/**
+	 *      
+	 * @param texts  
+	 * @param cs  
+	 * @param ignoreCase   :  8-    ,   -  
+	 */
+	private static AhoCorasickMatcher compilePatterns(String[] texts, Charset cs, boolean ignoreCase) {
+		byte[][] bytes = new byte[texts.length][];
+		for(int i = 0; i < bytes.length; i++)
+			bytes[i] = texts[i].getBytes(cs);
+		return new AhoCorasickMatcher(bytes, ignoreCase ? EncodedPattern.caseFoldTable(cs) : null);
+	}
+	
+	/**
+	 * @param fileCharset   (null -  )
+	 * @return       
+	 */
+	private AhoCorasickMatcher multiMatcherFor(Charset fileCharset) {
+		String[] texts = patterns;
+		if(fileCharset == null)
+			return multiMatcher;
+		return multiMatchers.computeIfAbsent(fileCharset, cs -> compilePatterns(texts, cs, searchIgnoreCase));
+	}
+	
+	/** @return        null,    */
+	public RegexSearcher getRegexSearcher() {
+		return regexSearcher;
+	}
+	
+	/** @return      null,      */
+	public TrigramIndex getIndex() {
+		return index;
+	}
+	
+	/** @return   */
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/** @return      null,      */
+	public ResultCache getResultCache() {
+		return resultCache;
+	}
+	
+	/** @return   ;     -  */
+	private ScanScheduler createScheduler() {
+		if(useVirtualThreads && VirtualScanScheduler.isSupported())
+			return new VirtualScanScheduler(maxOpenFiles, maxMappedBytes, maxPendingFiles);
+		return new LaneScanScheduler(ioConcurrency, maxFileSize, maxPendingFiles);
 	}
 	
 	/**
 	 *     
 	 * @param path   
 	 */
-	public synchronized void addToQueue(Path path, long offset) {
-		queue.add(new FindedFile(path, offset));
+	public void addToQueue(Path path, long offset) {
+		addToQueue(new FindedFile(path, offset));
+	}
+	
+	/**
+	 *         
+	 * @param path   
+	 * @param hits  
+	 * @param limited     
+	 */
+	public void addToQueue(Path path, OffsetList hits, boolean limited) {
+		addToQueue(new FindedFile(path, hits, limited));
+	}
+	
+	/** @return       */
+	public long getTotalHits() {
+		return totalHits.get();
 	}
 	
 	/**
-	 *       
-	 * @return   
+	 *      .      ,
+	 *      
+	 * @param findedFile  
 	 */
-	public synchronized FindedFile getFromQueue() {
-		return queue.poll();
+	public void addToQueue(FindedFile findedFile) {
+		List<FindedFile> pending = pendingResults.get(findedFile.pathToFile);
+		if(pending != null) //    -     (   )
+			pending.add(findedFile.contexts == null ? findedFile : findedFile.copy());
+		try {
+			results.put(findedFile);
+		} catch(InterruptedException e) { //   -    
+			Thread.currentThread().interrupt();
+		}
 	}
 	
 	/**
-	 *    
-	 * @return   
+	 *    .      
+	 *   ,         
+	 * @return   
 	 */
-	public boolean isQueueEmpty() {
-		return queue.isEmpty();
+	public ResultChannel getResults() {
+		return results;
 	}
 	
 	/**
 	 *         
 	 * @param path   
+	 * @param attr  ,   
 	 */
-	private void checkFileForNeedText(Path path) {
-		filesInProgressCount++;
+	private void checkFileForNeedText(Path path, BasicFileAttributes attr) {
+		long startedAt = metrics.fileStarted();
 		long posInFile = -1;
-		//       ,    
-		if((posInFile = findText(path.toString(), textToFind)) != -1 && !Thread.currentThread().isInterrupted())
-			addToQueue(path, posInFile);
-		if(filesInProgressCount - 1 >= 0)
-			filesInProgressCount--;
-		if(Thread.currentThread().isInterrupted())
+		OffsetList hits = findAllOccurrences ? new OffsetList() : null;
+		ResultCache cache = resultCache;
+		String query = cacheQuery;
+		ResultCache.Entry cached = (cache == null) ? null : cache.lookup(query, path, attr);
+		if(cached != null && cached.isUnchanged(attr)) //    -    ,   
+			addCachedResults(path, cached);
+		else try(RandomAccessFile file = new RandomAccessFile(path.toString(), "r")){ //       
+			if(cache != null)
+				pendingResults.put(path, Collections.synchronizedList(new ArrayList<>()));
+			FileChannel channel = file.getChannel();
+			CompressedScanner.Format format = CompressedScanner.formatOf(channel);
+			ContentClassifier.BinaryPolicy policy = binaryPolicy;
+			boolean binary = format == null && policy != ContentClassifier.BinaryPolicy.SEARCH && ContentClassifier.isBinary(channel);
+			boolean skipBinary = binary && (policy == ContentClassifier.BinaryPolicy.SKIP || regexSearcher != null);
+			if(binary) //           
+				hits = null;
+			if(binary && !skipBinary)
+				metrics.binaryFound(0);
+			//     ,    ,     
+			boolean appendedOnly = cached != null && format == null && multiMatcher == null &&
+					TrigramIndex.fingerprint(channel, cached.size) == cached.fingerprint;
+			boolean scanned = true; //   -   ,      
+			if(skipBinary) //    ,   
+				metrics.binaryFound(Math.max(attr.size() - ContentClassifier.SAMPLE_SIZE, 0));
+			else if(format != null) //    ,     
+				scanned = findCompressed(path, format);
+			else if(multiMatcher != null) //      ,     
+				scanned = findPatterns(path, channel, 0, binary) >= attr.size(); //    0
+			//       ,    
+			else if((posInFile = appendedOnly ? findAppended(channel, cached, hits) : findText(path, channel, attr, hits)) != -1 &&
+					!Thread.currentThread().isInterrupted()) {
+				if(hits != null)
+					addWithContext(channel, new FindedFile(path, hits, isHitsLimitReached(hits)));
+				else
+					addWithContext(binary ? null : channel, new FindedFile(path, posInFile));
+			}
+			if(cache != null && scanned && !Thread.currentThread().isInterrupted()) {
+				cache.countScan(appendedOnly);
+				cacheResults(cache, query, path, attr, TrigramIndex.fingerprint(channel, attr.size()));
+			}
+		}catch(IOException e) {
+			//      -    
+		}
+		finally {
+			if(cache != null)
+				pendingResults.remove(path);
+		}
+		metrics.fileDone(startedAt, !Thread.currentThread().isInterrupted());
+	}
+	
+	/**
+	 *         .     
+	 *  :   ,        
+	 * @param path   
+	 * @param cached  
+	 */
+	private void addCachedResults(Path path, ResultCache.Entry cached) {
+		RandomAccessFile file = null;
+		if(contextLines >= 0) {
+			try {
+				file = new RandomAccessFile(path.toString(), "r");
+			} catch(IOException e) {
+				//    
+			}
+		}
+		try {
+			for(FindedFile findedFile : cached.results) {
+				if(findedFile.offsets != null)
+					totalHits.addAndGet(findedFile.offsets.size());
+				if(file != null) //   ,    
+					addWithContext(file.getChannel(), findedFile.copy());
+				else
+					addToQueue(findedFile);
+			}
+		} finally {
+			if(file != null) {
+				try {
+					file.close();
+				} catch(IOException e) { }
+			}
+		}
+	}
+	
+	/**
+	 *            ,   
+	 * @param channel   (null -   ,    )
+	 * @param findedFile  
+	 */
+	private void addWithContext(FileChannel channel, FindedFile findedFile) {
+		int context = contextLines;
+		if(context >= 0 && channel != null && findedFile.entry == null && !Thread.currentThread().isInterrupted()) {
+			try {
+				Charset fileCharset = textPattern.charsetOf(channel);
+				if(fileCharset == null) //    ASCII -      
+					fileCharset = Charset.defaultCharset();
+				int maxBytes = maxContextBytes;
+				ByteBuffer window = ByteBuffer.allocate(2 * maxBytes); //      
+				HitContext[] contexts = new HitContext[Math.min(findedFile.hitCount(), maxContextHits)];
+				PrimitiveIterator.OfLong it = findedFile.offsets();
+				for(int i = 0; i < contexts.length; i++)
+					contexts[i] = HitContext.extract(channel, it.nextLong() - 1, fileCharset, context, maxBytes, window);
+				findedFile.contexts = contexts;
+			} catch(IOException e) {
+				//    
+			}
+		}
+		addToQueue(findedFile);
+	}
+	
+	/**
+	 *       . ,  
+	 *    ,  :       
+	 */
+	private void cacheResults(ResultCache cache, String query, Path path, BasicFileAttributes attr, long fingerprint) {
+		List<FindedFile> results = pendingResults.remove(path);
+		if(results == null)
 			return;
-		filesDoneCount++;
+		synchronized(results) {
+			for(FindedFile findedFile : results)
+				if(findedFile.truncated && findedFile.offsets.size() < maxHitsPerFile)
+					return;
+			cache.put(query, path, attr, fingerprint, results);
+		}
+	}
+	
+	/**
+	 *    ,       :   
+	 *     
+	 * @param channel   
+	 * @param cached  
+	 * @param hits     (null -   )
+	 * @return   
+	 */
+	private long findAppended(FileChannel channel, ResultCache.Entry cached, OffsetList hits) throws IOException {
+		FindedFile old = cached.results.isEmpty() ? null : cached.results.get(0);
+		if(old != null && hits == null) //    
+			return old.offset;
+		if(old != null)
+			for(PrimitiveIterator.OfLong it = old.offsets(); it.hasNext(); )
+				if(!addHit(hits, it.nextLong()))
+					return hits.first();
+		long pos = scanFrom(channel, cached.size, hits);
+		return (hits == null) ? pos : hits.first();
+	}
+	
+	/**
+	 *        :   -,
+	 *          
+	 * @param path   
+	 * @param channel   
+	 * @param attr  
+	 * @param hits     (null -   )
+	 * @return         -1,   
+	 * @throws IOException        :    
+	 */
+	private long findText(Path path, FileChannel channel, BasicFileAttributes attr, OffsetList hits) throws IOException {
+		if(regexSearcher != null)
+			return findRegex(channel, 0, 0, hits);
 		try {
-			Thread.sleep(100);
-		} catch (InterruptedException e) { }
-		if(totalFiles == filesDoneCount && !searching) 
-			stopSearch();
+			Charset fileCharset = textPattern.charsetOf(channel);
+			ByteMatcher fileMatcher = textPattern.matcher(fileCharset);
+			if(fileMatcher == null) //      
+				return -1;
+			TrigramIndex searchIndex = index;
+			//     ,    
+			byte[] exactBytes = (searchIndex == null) ? null : textPattern.exactBytes(fileCharset);
+			int[] trigrams = (exactBytes == null) ? null : TrigramIndex.trigramsOf(exactBytes);
+			if(trigrams == null)
+				return findText(channel, fileMatcher, hits);
+			long modified = attr.lastModifiedTime().toMillis();
+			long[] ranges = searchIndex.candidateRanges(path, attr.size(), modified, trigrams, exactBytes.length);
+			if(ranges != null)
+				return findInRanges(channel, fileMatcher, ranges, hits);
+			long pos = findText(channel, fileMatcher, hits);
+			try {
+				searchIndex.update(path, modified);
+			} catch(IOException e) {
+				//     -      
+			}
+			return pos;
+		}catch(UncheckedIOException e) { //      
+			throw e.getCause();
+		}catch(RejectedExecutionException | CancellationException e) { //   
+			InterruptedIOException stopped = new InterruptedIOException(" ");
+			stopped.initCause(e);
+			throw stopped;
+		}
 	}
 	
 	/**
-	 *     
+	 *       .     
+	 * @param file   
+	 * @param from      
+	 * @return      
+	 */
+	long scanAppended(Path file, long from) {
+		try(RandomAccessFile f = new RandomAccessFile(file.toString(), "r")){
+			FileChannel channel = f.getChannel();
+			long fileSize = channel.size();
+			if(CompressedScanner.formatOf(channel) != null) //   ,     
+				return fileSize;
+			ContentClassifier.BinaryPolicy policy = binaryPolicy;
+			boolean binary = policy != ContentClassifier.BinaryPolicy.SEARCH && ContentClassifier.isBinary(channel);
+			if(binary && (policy == ContentClassifier.BinaryPolicy.SKIP || regexSearcher != null))
+				return fileSize;
+			if(multiMatcher != null)
+				return findPatterns(file, channel, from, binary);
+			if(fileSize < from) //       -  
+				from = 0;
+			OffsetList hits = (findAllOccurrences && !binary) ? new OffsetList() : null;
+			long firstPos = scanFrom(channel, from, hits);
+			if(firstPos != -1 && !Thread.currentThread().isInterrupted()) {
+				if(hits != null)
+					addWithContext(channel, new FindedFile(file, hits, isHitsLimitReached(hits)));
+				else
+					addWithContext(binary ? null : channel, new FindedFile(file, firstPos));
+			}
+			return fileSize;
+		}catch(IOException e) {
+			return from; //  ,    
+		}
+	}
+	
+	/**
+	 *        
+	 * @param channel   
+	 * @param from       (,    ,  )
+	 * @param hits     (null -   )
+	 * @return     from  -1
+	 */
+	private long scanFrom(FileChannel channel, long from, OffsetList hits) throws IOException {
+		if(regexSearcher != null) //    ,     
+			return findRegex(channel, RegexSearcher.lineStartBefore(channel, from), from, hits);
+		ByteMatcher fileMatcher = textPattern.matcher(textPattern.charsetOf(channel));
+		if(fileMatcher == null) //      
+			return -1;
+		long fileSize = channel.size();
+		AtomicLong earliest = new AtomicLong(Long.MAX_VALUE);
+		long firstPos = -1;
+		//          
+		long start = Math.max(from - Math.max(fileMatcher.length() - 1, 0), 0);
+		for(long regionStart = start; regionStart < fileSize && !Thread.currentThread().isInterrupted(); regionStart += regionSize) {
+			OffsetList regionHits = (hits == null) ? null : new OffsetList();
+			long pos = scanRegion(channel, fileMatcher, regionStart, Math.min(regionStart + regionSize, fileSize), fileSize, regionHits, earliest);
+			if(hits != null)
+				pos = mergeHits(hits, new OffsetList[] {regionHits});
+			if(firstPos == -1)
+				firstPos = pos;
+			if(firstPos != -1 && (hits == null || isHitsLimitReached(hits)))
+				break;
+		}
+		return firstPos;
+	}
+	
+	/**
+	 *         .     ,
+	 *        
 	 * @param path   
-	 * @param inputStr  
-	 * @return     
-	 */
-	private long findText(String path, String inputStr) {
-		byte[] inputStrByte = inputStr.getBytes(); //    
-		try(RandomAccessFile file = new RandomAccessFile(path, "r")){ //    
-			if(file.getChannel().size() <= Integer.MAX_VALUE) //     Integer.MAX_VALUE
-				return findInFile(inputStrByte, file, 0, file.getChannel().size()); //       
+	 * @param channel   
+	 * @param from       (,    ,  )
+	 * @param binary   :      ,   
+	 * @return      
+	 */
+	private long findPatterns(Path path, FileChannel channel, long from, boolean binary) {
+		try {
+			AhoCorasickMatcher multi = multiMatcherFor(textPattern.charsetOf(channel));
+			long fileSize = channel.size();
+			if(fileSize < from) //     -  
+				from = 0;
+			long minEnd = from;
+			int maxHits = (findAllOccurrences && !binary) ? maxHitsPerFile : 1;
+			List<Callable<OffsetList[]>> regions = new ArrayList<>();
+			for(long start = Math.max(from - (multi.maxLength() - 1), 0); start < fileSize; start += regionSize) {
+				long regionStart = start, regionEnd = Math.min(start + regionSize, fileSize);
+				regions.add(() -> scanPatternsRegion(multi, channel, regionStart, regionEnd, fileSize, minEnd, maxHits));
+			}
+			List<OffsetList[]> results = new ArrayList<>();
+			if(regions.size() == 1)
+				results.add(regions.get(0).call());
+			else
+				for(Future<OffsetList[]> region : regionPool.invokeAll(regions))
+					results.add(region.get());
+			addPatternHits(path, null, binary ? null : channel, results);
+			return fileSize;
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return from;
+		}catch(Exception e) { //      
+			return from;
+		}
+	}
+	
+	/**
+	 *        ,      
+	 * @param path   
+	 * @param entry   (null -  )
+	 * @param channel       (null -  ,  )
+	 * @param results    ,   -   
+	 */
+	private void addPatternHits(Path path, String entry, FileChannel channel, List<OffsetList[]> results) {
+		for(int p = 0; p < patterns.length && !Thread.currentThread().isInterrupted(); p++) {
+			OffsetList[] patternHits = new OffsetList[results.size()];
+			for(int r = 0; r < patternHits.length; r++)
+				patternHits[r] = results.get(r)[p];
+			FindedFile findedFile;
+			if(findAllOccurrences) {
+				OffsetList hits = new OffsetList();
+				if(mergeHits(hits, patternHits) == -1)
+					continue;
+				findedFile = new FindedFile(path, hits, isHitsLimitReached(hits));
+			}
 			else {
-				long filePos = -1;
-				for(long i = 0; i < file.getChannel().size(); i += Integer.MAX_VALUE) { //       
-					if(i + Integer.MAX_VALUE <= file.getChannel().size())
-						filePos = findInFile(inputStrByte, file, i, Integer.MAX_VALUE);
-					else
-						filePos = findInFile(inputStrByte, file, i, file.getChannel().size() - i);
-					if(filePos != -1)
-						return filePos;
+				long first = -1;
+				for(int r = 0; r < patternHits.length && first == -1; r++)
+					if(patternHits[r] != null)
+						first = patternHits[r].first();
+				if(first == -1)
+					continue;
+				findedFile = new FindedFile(path, first);
+			}
+			findedFile.pattern = patterns[p];
+			findedFile.entry = entry;
+			addWithContext(channel, findedFile);
+		}
+	}
+	
+	/**
+	 *     .  gzip   ,   zip
+	 *    - .   -   
+	 * @param path   
+	 * @param format  
+	 * @return     (false -  ,     )
+	 */
+	private boolean findCompressed(Path path, CompressedScanner.Format format) {
+		try {
+			if(format == CompressedScanner.Format.GZIP) {
+				try(InputStream in = CompressedScanner.open(path, null)) {
+					searchStream(path, null, in);
 				}
+				return true;
 			}
-			file.getChannel().close();
-		}catch(IOException e) {
-			return -1;
+			try(ZipFile zip = new ZipFile(path.toFile())) {
+				String[] extensions = searchExtensions;
+				List<Callable<Void>> entries = new ArrayList<>();
+				for(Enumeration<? extends ZipEntry> it = zip.entries(); it.hasMoreElements(); ) {
+					ZipEntry entry = it.nextElement();
+					if(entry.isDirectory() || !hasExtension(entry.getName(), extensions))
+						continue;
+					entries.add(() -> {
+						try(InputStream in = zip.getInputStream(entry)) {
+							//  ,  gzip,  
+							searchStream(path, entry.getName(), entry.getName().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in);
+						}
+						return null;
+					});
+				}
+				if(entries.size() == 1)
+					entries.get(0).call();
+				else
+					for(Future<Void> entry : regionPool.invokeAll(entries))
+						entry.get();
+			}
+			return true;
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}catch(Exception e) { //  ,      
+			return false;
 		}
-		return -1;
- 	}	
+	}
+	
+	/**
+	 *     .     
+	 * @param path    
+	 * @param entry   zip (null -  gzip)
+	 * @param in   
+	 */
+	private void searchStream(Path path, String entry, InputStream in) throws IOException {
+		AhoCorasickMatcher[] multi = new AhoCorasickMatcher[1];
+		ByteMatcher[] matcher = new ByteMatcher[1];
+		OffsetList[] patternHits = new OffsetList[patterns.length];
+		OffsetList hits = findAllOccurrences ? new OffsetList() : null;
+		long[] firstPos = {-1};
+		int maxHits = findAllOccurrences ? maxHitsPerFile : 1;
+		int minCapacity = 0; //          
+		for(String text : patterns)
+			minCapacity = Math.max(minCapacity, text.length() * 8 + 1);
+		long[] scanned = {0};
+		//     :      
+		CompressedScanner.scan(in, minCapacity, this::acquireIo, (window, limit, last, base) -> {
+			scanned[0] = base + limit;
+			if(regexSearcher != null) { //     ,   
+				int complete = last ? limit : RegexSearcher.lastLineStart(window, limit);
+				if(complete == 0)
+					complete = limit;
+				OffsetList windowHits = (hits == null) ? null : new OffsetList();
+				int windowMax = (hits == null) ? 1 : maxHitsPerFile - hits.size();
+				long pos = regexSearcher.searchWindow(window, complete, base, 0, windowHits, windowMax);
+				if(hits != null) {
+					mergeHits(hits, new OffsetList[] {windowHits});
+					return isHitsLimitReached(hits) ? -1 : complete;
+				}
+				firstPos[0] = pos;
+				return (pos != -1) ? -1 : complete;
+			}
+			if(multiMatcher != null) {
+				if(multi[0] == null)
+					multi[0] = multiMatcherFor(textPattern.charsetOf(window, limit));
+				int reportTo = last ? limit : limit - (multi[0].maxLength() - 1); //     
+				multi[0].scan(window, 0, limit, reportTo, 0, base, patternHits, maxHits);
+				for(OffsetList list : patternHits)
+					if(list == null || list.size() < maxHits)
+						return reportTo;
+				return -1; //      
+			}
+			if(matcher[0] == null && (matcher[0] = textPattern.matcher(textPattern.charsetOf(window, limit))) == null)
+				return -1; //      
+			int reportTo = last ? limit : limit - Math.max(matcher[0].length() - 1, 0);
+			int pos = 0;
+			while((pos = matcher[0].indexOf(window, pos, limit)) != -1 && pos < reportTo) {
+				if(hits == null) {
+					firstPos[0] = base + pos + 1;
+					return -1;
+				}
+				if(!addHit(hits, base + pos + 1))
+					return -1;
+				pos++; //   
+			}
+			return reportTo;
+		});
+		metrics.scanned(scanned[0]); //  
+		if(Thread.currentThread().isInterrupted())
+			return;
+		if(multiMatcher != null) {
+			addPatternHits(path, entry, null, Collections.singletonList(patternHits));
+			return;
+		}
+		FindedFile findedFile;
+		if(hits != null && !hits.isEmpty())
+			findedFile = new FindedFile(path, hits, isHitsLimitReached(hits));
+		else if(hits == null && firstPos[0] != -1)
+			findedFile = new FindedFile(path, firstPos[0]);
+		else
+			return;
+		findedFile.entry = entry;
+		addToQueue(findedFile);
+	}
+	
+	/**
+	 *       
+	 * @return     (null -   )
+	 */
+	private OffsetList[] scanPatternsRegion(AhoCorasickMatcher multi, FileChannel channel, long start, long end, long fileSize,
+											long minEnd, int maxHits) throws IOException {
+		long mapEnd = Math.min(end + multi.maxLength() - 1, fileSize); //        
+		MappedRegion region = MappedRegion.map(channel, start, mapEnd - start);
+		MappedByteBuffer buffer = region.buffer();
+		metrics.mapped(mapEnd - start);
+		IoLimiter limiter = acquireIo();
+		try {
+			OffsetList[] hits = new OffsetList[multi.patternCount()];
+			if(limiter == null) //  
+				return hits;
+			multi.scan(buffer, 0, buffer.limit(), (int)(end - start), (int)Math.max(minEnd - start, 0), start, hits, maxHits);
+			metrics.scanned(end - start);
+			return hits;
+		} finally {
+			if(limiter != null)
+				limiter.release();
+			metrics.unmapped(mapEnd - start);
+			region.close(); //     ,    
+		}
+	}
+	
+	/**
+	 *       
+	 * @param channel   
+	 * @param from     ( )
+	 * @param reportFrom ,     ,  
+	 * @param hits     (null -   )
+	 * @return       -1,   
+	 */
+	private long findRegex(FileChannel channel, long from, long reportFrom, OffsetList hits) throws IOException {
+		//   - RegexSearcher    
+		if(hits == null)
+			return regexSearcher.search(channel, from, reportFrom, null, maxHitsPerFile, this::acquireIo);
+		OffsetList fileHits = new OffsetList();
+		regexSearcher.search(channel, from, reportFrom, fileHits, maxHitsPerFile, this::acquireIo);
+		return mergeHits(hits, new OffsetList[] {fileHits});
+	}
 
+	/**
+	 *          -   .
+	 *     
+	 * @return ,    ,  null,      
+	 */
+	private IoLimiter acquireIo() {
+		IoLimiter limiter = ioLimiter;
+		long startedAt = System.nanoTime();
+		try {
+			limiter.acquire(priority);
+			return limiter;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			metrics.ioWaited(System.nanoTime() - startedAt);
+		}
+	}
+	
+	/**
+	 *       
+	 * @param channel  
+	 * @param matcher    
+	 * @param ranges  [, ) ,     
+	 * @param hits     (null -   )
+	 * @return       
+	 */
+	private long findInRanges(FileChannel channel, ByteMatcher matcher, long[] ranges, OffsetList hits) throws IOException {
+		long fileSize = channel.size();
+		AtomicLong earliest = new AtomicLong(Long.MAX_VALUE);
+		OffsetList[] rangeHits = (hits == null) ? null : new OffsetList[ranges.length / 2];
+		for(int i = 0; i < ranges.length && !Thread.currentThread().isInterrupted(); i += 2) {
+			OffsetList list = (hits == null) ? null : (rangeHits[i / 2] = new OffsetList());
+			long pos = scanRegion(channel, matcher, ranges[i], Math.min(ranges[i + 1], fileSize), fileSize, list, earliest);
+			if(pos != -1 && hits == null)
+				return pos;
+		}
+		return (hits == null) ? -1 : mergeHits(hits, rangeHits);
+	}
+	
 	/**
 	 *     
-	 * @param inputStrByte    
-	 * @param file ,  
-	 * @param from     
-	 * @param size    
-	 * @return     -1,    
-	 */
-	private long findInFile(byte[] inputStrByte, RandomAccessFile file, long from, long size) throws IOException {
-		MappedByteBuffer buffer = file.getChannel().map(MapMode.READ_ONLY, from, size); //      
-		byte[] buf = new byte[inputStrByte.length]; //      
-		buf[0] = inputStrByte[0]; //    
-		while(!Thread.currentThread().isInterrupted() && buffer.hasRemaining() && buffer.remaining() >= buf.length) {
-			if(buffer.get() == inputStrByte[0]) { //       
-				buffer.mark(); //   
-				buffer.get(buf, 1, buf.length - 1); //   
-				buffer.reset();	//    
-				if(Arrays.equals(buf, inputStrByte)) //   
-					return buffer.position(); 
-			}						
-		}
-		return -1;
+	 * @param channel  
+	 * @param matcher    
+	 * @param hits     (null -   )
+	 * @return       
+	 */
+	private long findText(FileChannel channel, ByteMatcher matcher, OffsetList hits) throws IOException {
+		long fileSize = channel.size();
+		int regions = (int)((fileSize + regionSize - 1) / regionSize);
+		AtomicLong earliest = new AtomicLong(Long.MAX_VALUE);
+		if(regions <= 1) { //       
+			OffsetList fileHits = (hits == null) ? null : new OffsetList();
+			long pos = scanRegion(channel, matcher, 0, fileSize, fileSize, fileHits, earliest);
+			return (hits == null) ? pos : mergeHits(hits, new OffsetList[] {fileHits});
+		}
+		//     ,   
+		OffsetList[] regionHits = (hits == null) ? null : new OffsetList[regions];
+		regionPool.invoke(new RegionTask(channel, matcher, fileSize, 0, regions, regionHits, earliest));
+		if(hits != null)
+			return mergeHits(hits, regionHits);
+		return earliest.get() == Long.MAX_VALUE ? -1 : earliest.get();
+ 	}	
+
+	/**
+	 *      
+	 * @param channel  ,  
+	 * @param matcher    
+	 * @param start       
+	 * @param end     ( )   
+	 * @param fileSize  
+	 * @param hits      (null -   )
+	 * @param earliest   ,    (  )
+	 * @return    (     )  -1,    
+	 */
+	private long scanRegion(FileChannel channel, ByteMatcher matcher, long start, long end, long fileSize, OffsetList hits, AtomicLong earliest) throws IOException {
+		int overlap = Math.max(matcher.length() - 1, 0); //    ,      
+		long mapEnd = Math.min(end + overlap, fileSize);
+		MappedRegion region = MappedRegion.map(channel, start, mapEnd - start); //      
+		MappedByteBuffer buffer = region.buffer();
+		metrics.mapped(mapEnd - start);
+		try {
+			buffer.order(ByteOrder.LITTLE_ENDIAN); //       SwarMatcher
+			int limit = buffer.limit(), regionLength = (int)(end - start);
+			long firstPos = -1;
+			//   ,      
+			for(int blockStart = 0; blockStart < regionLength && !Thread.currentThread().isInterrupted(); blockStart += scanBlockSize) {
+				if(hits == null && start + blockStart >= earliest.get()) //     
+					break;
+				// ,   ,   
+				int startLimit = Math.min(blockStart + scanBlockSize, regionLength);
+				int blockEnd = (int)Math.min((long)startLimit + overlap, limit);
+				int pos = blockStart;
+				IoLimiter limiter = acquireIo(); //   :      
+				if(limiter == null)
+					break;
+				try {
+					metrics.scanned(startLimit - blockStart);
+					//    (  )     
+					while((pos = matcher.indexOf(buffer, pos, blockEnd)) != -1 && pos < startLimit) {
+						long filePos = start + pos + 1;
+						if(hits == null)
+							return filePos;
+						if(firstPos == -1)
+							firstPos = filePos;
+						hits.add(filePos);
+						if(hits.size() >= maxHitsPerFile)
+							return firstPos;
+						pos++; //   
+					}
+				} finally {
+					limiter.release();
+				}
+			}
+			return firstPos;
+		} finally {
+			metrics.unmapped(mapEnd - start);
+			region.close();
+		}
+	}
+	
+	/**
+	 *          
+	 * @param hits  
+	 * @param regionHits    
+	 * @return     -1
+	 */
+	private long mergeHits(OffsetList hits, OffsetList[] regionHits) {
+		merge:
+		for(OffsetList region : regionHits) {
+			if(region == null)
+				continue;
+			for(PrimitiveIterator.OfLong it = region.iterator(); it.hasNext(); )
+				if(!addHit(hits, it.nextLong()))
+					break merge;
+		}
+		return hits.first();
+	}
+	
+	/**
+	 *   
+	 * @param hits  
+	 * @param filePos  
+	 * @return     
+	 */
+	private boolean addHit(OffsetList hits, long filePos) {
+		if(!hits.isEmpty() && filePos <= hits.last()) //      ( )
+			return true;
+		if(!hits.isEmpty() && totalHits.get() >= maxHitsTotal) 
+			return false;
+		hits.add(filePos);
+		totalHits.incrementAndGet();
+		return !isHitsLimitReached(hits);
+	}
+	
+	/** @return            */
+	private boolean isHitsLimitReached(OffsetList hits) {
+		return hits.size() >= maxHitsPerFile || totalHits.get() >= maxHitsTotal;
 	}
 	
 	/**    */
 	public void stopSearch() {
-		if(threadPool != null) 
-			threadPool.shutdownNow();
-		if(largeFilesPool != null)
-			largeFilesPool.shutdownNow();
+		if(treeWalker != null)
+			treeWalker.shutdownNow();
+		if(scheduler != null) 
+			scheduler.shutdownNow();
+		if(regionPool != null)
+			regionPool.shutdownNow();
+		closeIoSession(ioSession.getAndSet(null));
+		if(follower != null) {
+			try {
+				follower.close();
+			} catch(IOException e) { }
+			follower = null;
+		}
 		searching = false;
 		processing = false;
-		filesInProgressCount = 0;
+		results.close();
+		results = new ResultChannel();
+	}
+	
+	/**       - */
+	private static void closeIoSession(IoLimiter.Session session) {
+		if(session != null)
+			session.close();
+	}
+	
+	/**   :  ,      JMX */
+	@Override
+	public void close() {
+		stopSearch();
+		metrics.unregister();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ *     GUI.    SWT,      .
+ *       ":"  JSON-.
+ *     grep: 0 -  , 1 -  , 2 - .
+ */
+public class FindTextCli {
+	/**   */
+	public static final int EXIT_FOUND = 0, EXIT_NOT_FOUND = 1, EXIT_ERROR = 2;
+	/**   ,    ,  */
+	private static final int POLL_INTERVAL = 10;
+	/**        */
+	private static final int BATCH_SIZE = 1024;
+
+	/**      JSON */
+	private boolean json = false;
+	/**       */
+	private boolean stats = false;
+	/**      (-1 -   ) */
+	private int contextLines = -1;
+	/**      (  "--",   grep) */
+	private boolean groupPrinted = false;
+	/**    */
+	private final PrintStream out;
+
+	public FindTextCli(PrintStream out) {
+		this.out = out;
+	}
+
+	public static void main(String[] args) {
+		System.exit(new FindTextCli(new PrintStream(new BufferedOutputStream(System.out), false)).run(args));
+	}
+
+	/**
+	 *       
+	 * @param args []   [...]
+	 * @return  
+	 */
+	public int run(String[] args) {
+		FindFiles finder = FindFiles.getInstance();
+		List<String> positional = new ArrayList<>();
+		List<String> patterns = new ArrayList<>(); // ,   -e  --patterns-file
+		SearchFilter filter = new SearchFilter();
+		boolean filtered = false, included = false;
+		try {
+			for(int i = 0; i < args.length; i++) {
+				String arg = args[i];
+				if(positional.size() > 0 || !arg.startsWith("-") || arg.equals("-")) //     
+					positional.add(arg);
+				else if(arg.equals("--"))
+					positional.add(args[++i]);
+				else if(arg.equals("-a") || arg.equals("--all"))
+					finder.findAllOccurrences = true;
+				else if(arg.equals("--json"))
+					json = true;
+				else if(arg.equals("-e") || arg.equals("--pattern"))
+					patterns.add(args[++i]);
+				else if(arg.equals("--patterns-file")) {
+					String file = args[++i];
+					List<String> lines = Files.readAllLines(Paths.get(file));
+					for(int line = 0; line < lines.size(); line++) {
+						if(lines.get(line).isEmpty()) //       
+							throw new IllegalArgumentException("  " + (line + 1) + "    " + file);
+						patterns.add(lines.get(line));
+					}
+				}
+				else if(arg.equals("-E") || arg.equals("--regex"))
+					finder.regexMode = true;
+				else if(arg.equals("-i") || arg.equals("--ignore-case"))
+					finder.ignoreCase = true;
+				else if(arg.equals("--charset")) {
+					String name = args[++i];
+					finder.charset = name.equalsIgnoreCase("auto") ? null : Charset.forName(name);
+				}
+				else if(arg.equals("--binary"))
+					finder.binaryPolicy = binaryPolicy(args[++i]);
+				else if(arg.equals("-f") || arg.equals("--follow"))
+					finder.followNewData = true;
+				else if(arg.equals("--index"))
+					finder.useIndex = true;
+				else if(arg.equals("--cache")) //  ,       
+					finder.useResultCache = finder.persistResultCache = true;
+				else if(arg.equals("--stats"))
+					stats = true;
+				else if(arg.equals("--virtual"))
+					finder.useVirtualThreads = true;
+				else if(arg.equals("-j") || arg.equals("--threads"))
+					finder.ioConcurrency = Integer.parseInt(args[++i]);
+				else if(arg.equals("-C") || arg.equals("--context"))
+					finder.contextLines = contextLines = Math.max(Integer.parseInt(args[++i]), 0);
+				else if(arg.equals("--walk-threads"))
+					finder.walkConcurrency = Integer.parseInt(args[++i]);
+				else if(arg.equals("--include")) {
+					filter.include(args[++i]);
+					filtered = included = true;
+				}
+				else if(arg.equals("--exclude") || arg.equals("--exclude-dir") || arg.equals("--min-size") ||
+						arg.equals("--max-size") || arg.equals("--newer") || arg.equals("--older")) {
+					addFilter(filter, arg, args[++i]);
+					filtered = true;
+				}
+				else if(arg.equals("-h") || arg.equals("--help")) {
+					printUsage(System.out);
+					return EXIT_FOUND; //  grep --help
+				}
+				else
+					throw new IllegalArgumentException("  " + arg);
+			}
+			if(patterns.isEmpty() && !positional.isEmpty()) //    
+				patterns.add(positional.remove(0));
+			if(patterns.isEmpty() || positional.isEmpty())
+				throw new IllegalArgumentException("    ");
+			if(patterns.contains(""))
+				throw new IllegalArgumentException("     ");
+			if(finder.regexMode && patterns.size() > 1)
+				throw new IllegalArgumentException("    ");
+		} catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.err.println(e.getMessage() != null ? e.getMessage() : "   ");
+			printUsage(System.err);
+			return EXIT_ERROR;
+		} catch(IOException e) {
+			System.err.println("     : " + e.getMessage());
+			return EXIT_ERROR;
+		}
+		if(finder.regexMode) {
+			try {
+				Pattern.compile(patterns.get(0));
+			} catch(PatternSyntaxException e) {
+				System.err.println(e.getMessage());
+				return EXIT_ERROR;
+			}
+		}
+		Path root = Paths.get(positional.get(0));
+		if(!Files.isDirectory(root)) {
+			System.err.println("  : " + root);
+			return EXIT_ERROR;
+		}
+		//        :   
+		String[] extensions = positional.size() > 1 ? normalizeExtensions(positional.subList(1, positional.size())) :
+							  new String[] {included ? "" : ".log"};
+		finder.filter = filtered ? filter : null;
+		return search(finder, patterns.toArray(new String[0]), root.toString(), extensions);
+	}
+
+	/**
+	 *        
+	 * @return  
+	 */
+	private int search(FindFiles finder, String[] textsToFind, String root, String[] extensions) {
+		ResultChannel results = finder.getResults(); //    :     
+		AtomicReference<Throwable> failure = new AtomicReference<>(); // ,     
+		Thread walker = new Thread(() -> finder.findFilesInDirectory(textsToFind, root, extensions), "FindTextCli-walker");
+		walker.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+		walker.start();
+		boolean found = false;
+		List<FindedFile> batch = new ArrayList<>(BATCH_SIZE);
+		try {
+			while(walker.isAlive() || !results.isEmpty()) {
+				if(results.drain(batch, BATCH_SIZE, POLL_INTERVAL) == 0) {
+					out.flush(); //   ,   
+					continue;
+				}
+				found = true;
+				for(FindedFile findedFile : batch)
+					print(findedFile);
+				batch.clear();
+			}
+		} catch(InterruptedException e) {
+			finder.stopSearch();
+			return EXIT_ERROR;
+		} finally {
+			out.flush();
+		}
+		if(failure.get() != null) { //   ,    
+			finder.stopSearch();
+			System.err.println(" : " + failure.get());
+			return EXIT_ERROR;
+		}
+		if(finder.getRegexSearcher() != null)
+			System.err.println(finder.getRegexSearcher().getStats());
+		if(finder.getIndex() != null)
+			System.err.println(finder.getIndex().getStats());
+		if(finder.getResultCache() != null)
+			System.err.println(finder.getResultCache().getStats());
+		if(stats)
+			System.err.println(finder.getMetrics().snapshot());
+		return out.checkError() ? EXIT_ERROR : found ? EXIT_FOUND : EXIT_NOT_FOUND;
+	}
+
+	/**
+	 *     ,  -  ,    (   -   );
+	 *     -  ,    zip -  "!"
+	 */
+	private void print(FindedFile findedFile) {
+		String path = findedFile.pathToFile.toString();
+		int hit = 0;
+		for(PrimitiveIterator.OfLong it = findedFile.offsets(); it.hasNext(); hit++) {
+			long offset = it.nextLong() - 1;
+			//        ( FindFiles.maxContextHits)
+			HitContext context = (findedFile.contexts != null && hit < findedFile.contexts.length) ? findedFile.contexts[hit] : null;
+			if(json)
+				out.println("{\"path\":\"" + escapeJson(path) + "\"" +
+						(findedFile.entry != null ? ",\"entry\":\"" + escapeJson(findedFile.entry) + "\"" : "") + ",\"offset\":" + offset + 
+						(findedFile.pattern != null ? ",\"pattern\":\"" + escapeJson(findedFile.pattern) + "\"" : "") +
+						(context != null ? contextJson(context) : "") + "}");
+			else if(context != null)
+				printContext(path, offset, findedFile.pattern, context);
+			else
+				out.println(path + (findedFile.entry != null ? "!" + findedFile.entry : "") + ":" + offset + 
+						(findedFile.pattern != null ? ":" + findedFile.pattern : ""));
+		}
+	}
+
+	/**
+	 *       ,  grep -C:   - "::",
+	 *   - "-  -",    "--"
+	 */
+	private void printContext(String path, long offset, String pattern, HitContext context) {
+		if(contextLines > 0 && groupPrinted)
+			out.println("--");
+		groupPrinted = true;
+		for(int i = 0; i < context.lines.length; i++) {
+			if(i == context.hitLine)
+				out.println(path + ":" + offset + (pattern != null ? ":" + pattern : "") + ":" + context.lines[i]);
+			else
+				out.println(path + "-" + context.starts[i] + "-" + context.lines[i]);
+		}
+	}
+
+	/** @return  JSON          */
+	private static String contextJson(HitContext context) {
+		StringBuilder sb = new StringBuilder(",\"line\":\"").append(escapeJson(context.hitText())).append("\",\"before\":[");
+		for(int i = 0; i < context.hitLine; i++)
+			sb.append(i > 0 ? "," : "").append('"').append(escapeJson(context.lines[i])).append('"');
+		sb.append("],\"after\":[");
+		for(int i = context.hitLine + 1; i < context.lines.length; i++)
+			sb.append(i > context.hitLine + 1 ? "," : "").append('"').append(escapeJson(context.lines[i])).append('"');
+		return sb.append(']').toString();
+	}
+
+	/**   "log", "*.log"  ".log"   ".log" */
+	private static String[] normalizeExtensions(List<String> raw) {
+		String[] extensions = new String[raw.size()];
+		for(int i = 0; i < extensions.length; i++) {
+			String ext = raw.get(i);
+			if(ext.startsWith("*"))
+				ext = ext.substring(1);
+			extensions[i] = ext.startsWith(".") ? ext : "." + ext;
+		}
+		return extensions;
+	}
+
+	/**     JSON */
+	static String escapeJson(String str) {
+		StringBuilder sb = new StringBuilder(str.length() + 8);
+		for(int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			switch(c) {
+				case '"': sb.append("\\\""); break;
+				case '\\': sb.append("\\\\"); break;
+				case '\n': sb.append("\\n"); break;
+				case '\r': sb.append("\\r"); break;
+				case '\t': sb.append("\\t"); break;
+				default:
+					if(c < 0x20)
+						sb.append(String.format("\\u%04x", (int)c));
+					else
+						sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 *     
+	 * @param option  
+	 * @param value : ,  (100m)    (24h, 7d)
+	 * @throws IllegalArgumentException     
+	 */
+	private static void addFilter(SearchFilter filter, String option, String value) {
+		switch(option) {
+			case "--exclude": filter.exclude(value); break;
+			case "--exclude-dir": filter.excludeDirectory(value); break;
+			case "--min-size": filter.minSize = SearchFilter.parseSize(value); break;
+			case "--max-size": filter.maxSize = SearchFilter.parseSize(value); break;
+			case "--newer": filter.modifiedAfter = System.currentTimeMillis() - SearchFilter.parseDuration(value); break;
+			case "--older": filter.modifiedBefore = System.currentTimeMillis() - SearchFilter.parseDuration(value); break;
+		}
+	}
+
+	/**
+	 * @param name : skip, literal  search
+	 * @return     
+	 * @throws IllegalArgumentException   
+	 */
+	private static ContentClassifier.BinaryPolicy binaryPolicy(String name) {
+		try {
+			return ContentClassifier.BinaryPolicy.valueOf(name.toUpperCase(Locale.ROOT));
+		} catch(IllegalArgumentException e) {
+			throw new IllegalArgumentException(" : skip, literal  search,   " + name);
+		}
+	}
+
+	private static void printUsage(PrintStream stream) {
+		stream.println(": FindTextCli [] <> <> [...]");
+		stream.println("               FindTextCli [] -e <> [-e <>...] <> [...]");
+		stream.println("  -e, --pattern T   ;        ");
+		stream.println("  --patterns-file F     ,    ,   ");
+		stream.println("  -a, --all          ,      ");
+		stream.println("  --json             JSON-");
+		stream.println("  -C, --context N      N     ");
+		stream.println("  -j, --threads N     ");
+		stream.println("  --walk-threads N      (1 - )");
+		stream.println("  --include GLOB        (*.log, app/*.out);  ");
+		stream.println("  --exclude GLOB       ");
+		stream.println("  --exclude-dir GLOB       (archive, node_modules)");
+		stream.println("  --min-size N, --max-size N     (512k, 100m, 2g)");
+		stream.println("  --newer D, --older D     / ,  D  (30m, 24h, 7d)");
+		stream.println("  -E, --regex       -  ,   ");
+		stream.println("  -i, --ignore-case     ");
+		stream.println("  --charset NAME     (  auto -  BOM   )");
+		stream.println("  --binary P        : skip -  ( ), literal -   , search -  ");
+		stream.println("  -f, --follow            ");
+		stream.println("  --index              (~/.findtextinlogs/index)");
+		stream.println("  --cache               (~/.findtextinlogs/results)");
+		stream.println("  --virtual           (Java 21+)");
+		stream.println("  --stats            stderr  : ,    , ");
+		stream.println("   - log.  : 0 - , 1 -  , 2 - .");
+	}
+}
@@ -1,7 +1,9 @@
-
 public class FindTextInLogs {
 
 	public static void main(String[] args) {
-		new MainWindow();
+		if(args.length > 0) //      ,  SWT
+			FindTextCli.main(args);
+		else
+			new MainWindow();
 	}
 }
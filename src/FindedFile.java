@@ -1,11 +1,47 @@
 import java.nio.file.Path;
+import java.util.PrimitiveIterator;
 
 public class FindedFile {
 	Path pathToFile; //   
 	long offset; //    
+	OffsetList offsets; //    (null,    )
+	boolean truncated; //     -  
+	String pattern; //      (null,    )
+	String entry; //   zip,     (null,    )
+	HitContext[] contexts; //       offsets() (null,   )
 
 	FindedFile(Path path, long off){
 		pathToFile = path;
 		offset = off;
 	}
+
+	FindedFile(Path path, OffsetList hits, boolean limited){
+		this(path, hits.first());
+		offsets = hits;
+		truncated = limited;
+	}
+
+	/** @return       ( ) */
+	FindedFile copy() {
+		FindedFile copy = new FindedFile(pathToFile, offset);
+		copy.offsets = offsets;
+		copy.truncated = truncated;
+		copy.pattern = pattern;
+		copy.entry = entry;
+		return copy;
+	}
+
+	/** @return    */
+	int hitCount() {
+		return offsets == null ? 1 : offsets.size();
+	}
+
+	/** @return      */
+	PrimitiveIterator.OfLong offsets() {
+		if(offsets != null)
+			return offsets.iterator();
+		OffsetList single = new OffsetList();
+		single.add(offset);
+		return single.iterator();
+	}
 }
@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ *    ( grep -C):     N     .
+ *          ,   
+ *        .       :
+ *        .
+ */
+public class HitContext {
+	/**      ( 0) */
+	final long[] starts;
+	/**    */
+	final String[] lines;
+	/**  ,     */
+	final int hitLine;
+
+	private HitContext(long[] starts, String[] lines, int hitLine) {
+		this.starts = starts;
+		this.lines = lines;
+		this.hitLine = hitLine;
+	}
+
+	/** @return ,     */
+	String hitText() {
+		return lines[hitLine];
+	}
+
+	/**
+	 *     
+	 * @param channel  
+	 * @param hit   ( 0)
+	 * @param cs  
+	 * @param context        (0 -   )
+	 * @param maxBytes         
+	 * @param window    ,   2 * maxBytes (  )
+	 * @return   
+	 */
+	static HitContext extract(FileChannel channel, long hit, Charset cs, int context, int maxBytes, ByteBuffer window) throws IOException {
+		byte[] newline = newline(cs);
+		int unit = newline.length;
+		long fileSize = channel.size();
+		long from = hit - Math.min(hit, maxBytes) / unit * unit; //      
+		long to = Math.min(hit + maxBytes, fileSize);
+		window.clear().limit((int)(to - from));
+		while(window.hasRemaining() && channel.read(window, from + window.position()) > 0)
+			;
+		int limit = window.position(), hitPos = (int)(hit - from);
+		// :      context     
+		int start = hitPos - hitPos % unit, found = 0;
+		while(start > 0 && found <= context) {
+			if(isNewline(window, start - unit, newline))
+				found++;
+			if(found <= context)
+				start -= unit;
+		}
+		// :     context   
+		int end = hitPos - hitPos % unit, ends = 0;
+		while(end + unit <= limit && ends <= context) {
+			if(isNewline(window, end, newline))
+				ends++;
+			end += unit;
+		}
+		if(ends > context) //      
+			end -= unit;
+		int[] lineStarts = new int[2 * context + 2];
+		int count = 0, hitLine = 0;
+		lineStarts[count++] = start;
+		for(int pos = start; pos + unit <= end; pos += unit) {
+			if(isNewline(window, pos, newline)) {
+				if(count == lineStarts.length) //    
+					lineStarts = Arrays.copyOf(lineStarts, count * 2);
+				if(pos < hitPos)
+					hitLine = count;
+				lineStarts[count++] = pos + unit;
+			}
+		}
+		int lineCount = count;
+		if(count - 1 > hitLine && lineStarts[count - 1] == end && from + end == fileSize) //      
+			lineCount--;
+		long[] starts = new long[lineCount];
+		String[] lines = new String[lineCount];
+		for(int i = 0; i < lineCount; i++) {
+			int lineEnd = (i + 1 < count) ? lineStarts[i + 1] - unit : end;
+			byte[] bytes = new byte[Math.max(lineEnd - lineStarts[i], 0)];
+			ByteBuffer line = window.duplicate();
+			line.limit(lineStarts[i] + bytes.length).position(lineStarts[i]);
+			line.get(bytes);
+			String text = new String(bytes, cs);
+			lines[i] = text.endsWith("\r") ? text.substring(0, text.length() - 1) : text; //  CRLF
+			starts[i] = from + lineStarts[i];
+		}
+		return new HitContext(starts, lines, hitLine);
+	}
+
+	/** @return      ( BOM) */
+	private static byte[] newline(Charset cs) {
+		byte[] bytes = "\n".getBytes(cs);
+		int unit = Math.max(Math.round(cs.newEncoder().averageBytesPerChar()), 1);
+		return (bytes.length > unit) ? Arrays.copyOfRange(bytes, bytes.length - unit, bytes.length) : bytes;
+	}
+
+	private static boolean isNewline(ByteBuffer window, int pos, byte[] newline) {
+		for(int i = 0; i < newline.length; i++)
+			if(window.get(pos + i) != newline[i])
+				return false;
+		return true;
+	}
+}
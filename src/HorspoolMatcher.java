@@ -0,0 +1,46 @@
+import java.nio.ByteBuffer;
+
+/**
+ *    --.   
+ *    :         .
+ */
+public class HorspoolMatcher implements ByteMatcher {
+	/**     */
+	private final byte[] pattern;
+	/**       */
+	private final int[] shifts = new int[256];
+
+	public HorspoolMatcher(byte[] pattern) {
+		this.pattern = pattern.clone();
+		int m = pattern.length;
+		for(int i = 0; i < shifts.length; i++)
+			shifts[i] = m;
+		for(int i = 0; i < m - 1; i++) //       
+			shifts[pattern[i] & 0xFF] = m - 1 - i;
+	}
+
+	@Override
+	public int indexOf(ByteBuffer buffer, int from, int to) {
+		int m = pattern.length;
+		byte lastByte = pattern[m - 1];
+		int last = to - m;
+		int i = from;
+		while(i <= last) {
+			byte b = buffer.get(i + m - 1); //     
+			if(b == lastByte) {
+				int j = m - 2;
+				while(j >= 0 && buffer.get(i + j) == pattern[j])
+					j--;
+				if(j < 0)
+					return i;
+			}
+			i += shifts[b & 0xFF];
+		}
+		return -1;
+	}
+
+	@Override
+	public int length() {
+		return pattern.length;
+	}
+}
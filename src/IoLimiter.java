@@ -0,0 +1,171 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *        -  .
+ *       (  ,  ),     ,
+ *           :
+ *        ,   ,   .
+ *           (join):   
+ *  - (ioConcurrency, -j N,  maxOpenFiles   ).
+ */
+public class IoLimiter {
+	/**    */
+	public enum Priority {
+		/**  :    */
+		BACKGROUND,
+		/** ,     */
+		INTERACTIVE
+	}
+
+	/** ,     :     */
+	private static final IoLimiter GLOBAL = new IoLimiter(0);
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	/**      (0 -    ) */
+	private int limit;
+	/**  -   */
+	private final List<Integer> sessionLimits = new ArrayList<>();
+	/**    */
+	private int active = 0;
+	/** ,  ,   */
+	private final int[] waiting = new int[Priority.values().length];
+
+	/**     :    ,      */
+	public class Session implements AutoCloseable {
+		private final Integer concurrency;
+		private boolean closed = false;
+
+		private Session(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+		/**   ;      */
+		@Override
+		public void close() {
+			lock.lock();
+			try {
+				if(!closed) {
+					closed = true;
+					sessionLimits.remove(concurrency);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/** @param limit     (0 -    ) */
+	public IoLimiter(int limit) {
+		this.limit = Math.max(limit, 0);
+	}
+
+	/** @return ,      */
+	public static IoLimiter global() {
+		return GLOBAL;
+	}
+
+	/** @param limit      (0 -    );      */
+	public void setLimit(int limit) {
+		lock.lock();
+		try {
+			this.limit = Math.max(limit, 0);
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** @return      */
+	public int getLimit() {
+		lock.lock();
+		try {
+			return effectiveLimit();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *       
+	 * @param concurrency  - 
+	 * @return ,     
+	 */
+	public Session join(int concurrency) {
+		Session session = new Session(Math.max(concurrency, 1));
+		lock.lock();
+		try {
+			sessionLimits.add(session.concurrency);
+			available.signalAll(); //   
+		} finally {
+			lock.unlock();
+		}
+		return session;
+	}
+
+	/**
+	 *      . ,    
+	 *         
+	 * @param priority  
+	 * @throws InterruptedException       
+	 */
+	public void acquire(Priority priority) throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			waiting[priority.ordinal()]++;
+			try {
+				while(active >= effectiveLimit() || isWaitingAbove(priority))
+					available.await();
+				active++;
+			} finally {
+				waiting[priority.ordinal()]--;
+				if(priority.ordinal() > 0)
+					available.signalAll(); //    ,    
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**   ,  acquire */
+	public void release() {
+		lock.lock();
+		try {
+			active--;
+			available.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** @return  ,     ,  ,   */
+	private int effectiveLimit() {
+		if(limit > 0)
+			return limit;
+		int max = 0;
+		for(int concurrency : sessionLimits)
+			max = Math.max(max, concurrency);
+		return max > 0 ? max : Runtime.getRuntime().availableProcessors();
+	}
+
+	/** @return    -     */
+	private boolean isWaitingAbove(Priority priority) {
+		for(int i = priority.ordinal() + 1; i < waiting.length; i++)
+			if(waiting[i] > 0)
+				return true;
+		return false;
+	}
+
+	/** @return    */
+	public int getActive() {
+		lock.lock();
+		try {
+			return active;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
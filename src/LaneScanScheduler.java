@@ -0,0 +1,179 @@
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *         .
+ *   -    (""):      .
+ *       ,        ,
+ *  - ,       .
+ *  :   ,   .
+ *           
+ * ( Phaser   65535 ,        ).
+ */
+public class LaneScanScheduler implements ScanScheduler {
+	/**      */
+	private static class ScanJob implements Comparable<ScanJob> {
+		final long size;
+		final long sequence; //      
+		final Runnable task;
+
+		ScanJob(long size, long sequence, Runnable task) {
+			this.size = size;
+			this.sequence = sequence;
+			this.task = task;
+		}
+
+		@Override
+		public int compareTo(ScanJob other) {
+			int cmp = Long.compare(size, other.size);
+			return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**      */
+	private final PriorityQueue<ScanJob> smallLane = new PriorityQueue<>(), largeLane = new PriorityQueue<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	/**       */
+	private final Condition notFull = lock.newCondition();
+	/**      */
+	private final Condition allDone = lock.newCondition();
+	/**  ,      */
+	private long unfinished = 0;
+	/** - */
+	private final Thread[] workers;
+	/**        */
+	private final long largeFileSize;
+	/**       */
+	private final int maxPending;
+	/**    */
+	private long sequence = 0;
+	/**    */
+	private volatile boolean shutdown = false;
+
+	/**
+	 * @param workerCount  - (  )
+	 * @param largeFileSize       
+	 * @param maxPending      
+	 */
+	public LaneScanScheduler(int workerCount, long largeFileSize, int maxPending) {
+		this.largeFileSize = largeFileSize;
+		this.maxPending = Math.max(maxPending, 1);
+		workerCount = Math.max(workerCount, 1);
+		int largeWorkers = Math.max(1, workerCount / 4); //        
+		workers = new Thread[workerCount];
+		for(int i = 0; i < workerCount; i++) {
+			boolean preferLarge = i < largeWorkers;
+			workers[i] = new Thread(() -> work(preferLarge), "ScanWorker-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	@Override
+	public void submit(long size, Runnable task) {
+		lock.lock();
+		try {
+			while(!shutdown && smallLane.size() + largeLane.size() >= maxPending)
+				notFull.await();
+			if(shutdown)
+				return;
+			unfinished++;
+			(size < largeFileSize ? smallLane : largeLane).add(new ScanJob(size, sequence++, task));
+			notEmpty.signal();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt(); //  
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void awaitCompletion() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while(unfinished > 0 && !shutdown)
+				allDone.await();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int pendingCount() {
+		lock.lock();
+		try {
+			return smallLane.size() + largeLane.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void shutdownNow() {
+		lock.lock();
+		try {
+			shutdown = true;
+			smallLane.clear();
+			largeLane.clear();
+			notEmpty.signalAll();
+			notFull.signalAll();
+			allDone.signalAll(); //   
+		} finally {
+			lock.unlock();
+		}
+		for(Thread worker : workers)
+			worker.interrupt();
+	}
+
+	/**  - */
+	private void work(boolean preferLarge) {
+		ScanJob job;
+		while((job = take(preferLarge)) != null) {
+			try {
+				job.task.run();
+			} catch(RuntimeException e) {
+				e.printStackTrace();
+			} finally {
+				finished();
+			}
+		}
+	}
+
+	/**     */
+	private void finished() {
+		lock.lock();
+		try {
+			if(--unfinished == 0)
+				allDone.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 *    :    ,   
+	 * @return   null,   
+	 */
+	private ScanJob take(boolean preferLarge) {
+		lock.lock();
+		try {
+			while(!shutdown) {
+				ScanJob job = preferLarge ? largeLane.poll() : smallLane.poll();
+				if(job == null)
+					job = preferLarge ? smallLane.poll() : largeLane.poll();
+				if(job != null) {
+					notFull.signal();
+					return job;
+				}
+				notEmpty.await();
+			}
+		} catch(InterruptedException e) {
+			//  
+		} finally {
+			lock.unlock();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,305 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ *    :    STRIDE- .     
+ *       ,   ,    ,    .
+ *      N          STRIDE .
+ *      ,        UTF-8,
+ *     ,   .
+ */
+public class LineIndex {
+	/**      */
+	public static final int STRIDE = 4096;
+	/**   ,      */
+	private static final int WINDOW_SIZE = 64 << 20;
+	/**           */
+	private static final int ALIGN_LIMIT = 1 << 20;
+	/**       */
+	private static final int CACHE_SIZE = 16;
+	/**      */
+	private static final long HIGH_BITS = 0x8080808080808080L;
+	/**    */
+	private static final ByteMatcher NEWLINE = ByteMatcher.create(new byte[] {'\n'});
+	/**    */
+	private static final ExecutorService builders = Executors.newFixedThreadPool(2, r -> {
+		Thread thread = new Thread(r, "LineIndex");
+		thread.setDaemon(true);
+		return thread;
+	});
+	/**     ,     */
+	private static final Map<Path, LineIndex> cache = new LinkedHashMap<Path, LineIndex>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Path, LineIndex> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**    */
+	private final Path path;
+	/**     ,     */
+	private final long size, modified;
+	/**    0, STRIDE, 2 * STRIDE, ... */
+	private long[] checkpoints = new long[16];
+	/**  UTF-16         UTF-8 */
+	private long[] utf8Chars = new long[16];
+	/**    */
+	private int count;
+	/**     */
+	private long lineCount;
+	/**  UTF-16       UTF-8 ( ) */
+	private long utf8Total;
+	/**    */
+	private final CountDownLatch built = new CountDownLatch(1);
+
+	private LineIndex(Path path, long size, long modified) {
+		this.path = path;
+		this.size = size;
+		this.modified = modified;
+	}
+
+	/**
+	 *    :    ,     
+	 * @param path   
+	 * @return  
+	 */
+	public static LineIndex of(Path path) throws IOException {
+		BasicFileAttributes attr = Files.readAttributes(path, BasicFileAttributes.class);
+		long modified = attr.lastModifiedTime().toMillis();
+		synchronized(cache) {
+			LineIndex index = cache.get(path);
+			if(index != null && index.size == attr.size() && index.modified == modified)
+				return index;
+			LineIndex created = new LineIndex(path, attr.size(), modified);
+			cache.put(path, created);
+			builders.execute(created::build);
+			return created;
+		}
+	}
+
+	/**    */
+	private void build() {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long lines = 0, chars = 0;
+			add(0, 0);
+			for(long windowStart = 0; windowStart < size; windowStart += WINDOW_SIZE) {
+				try(MappedRegion region = MappedRegion.map(channel, windowStart, Math.min(WINDOW_SIZE, size - windowStart))) {
+					MappedByteBuffer buffer = region.buffer();
+					buffer.order(ByteOrder.LITTLE_ENDIAN); //       SwarMatcher
+					int limit = buffer.limit(), counted = 0;
+					for(int pos = 0; (pos = NEWLINE.indexOf(buffer, pos, limit)) != -1; pos++)
+						if(++lines % STRIDE == 0 && windowStart + pos + 1 < size) {
+							chars += utf8Chars(buffer, counted, pos + 1);
+							counted = pos + 1;
+							add(windowStart + pos + 1, chars);
+						}
+					chars += utf8Chars(buffer, counted, limit);
+				}
+			}
+			utf8Total = chars;
+			//       
+			lineCount = (size == 0 || endsWithNewline(channel)) ? lines : lines + 1;
+		} catch(IOException e) {
+			synchronized(this) {
+				lineCount = count = 0; //   -  
+			}
+		} finally {
+			built.countDown();
+			synchronized(this) {
+				notifyAll();
+			}
+		}
+	}
+
+	/**   :        */
+	private synchronized void add(long offset, long chars) {
+		if(count == checkpoints.length) {
+			checkpoints = Arrays.copyOf(checkpoints, count * 2);
+			utf8Chars = Arrays.copyOf(utf8Chars, count * 2);
+		}
+		checkpoints[count] = offset;
+		utf8Chars[count++] = chars;
+		notifyAll();
+	}
+
+	/**
+	 *    UTF-16,      UTF-8:  , 
+	 *  10xxxxxx,  ,     -  .
+	 *   ,    
+	 * @param buffer  (   )
+	 * @param from   
+	 * @param to   
+	 * @return  
+	 */
+	static long utf8Chars(ByteBuffer buffer, int from, int to) {
+		long chars = 0;
+		int pos = from;
+		for(; pos + Long.BYTES <= to; pos += Long.BYTES) {
+			long word = buffer.getLong(pos);
+			long continuation = word & ~(word << 1) & HIGH_BITS; // 10xxxxxx
+			long fourByte = word & (word << 1) & (word << 2) & (word << 3) & HIGH_BITS; // 1111xxxx
+			chars += Long.BYTES - Long.bitCount(continuation) + Long.bitCount(fourByte);
+		}
+		for(; pos < to; pos++) {
+			int b = buffer.get(pos) & 0xFF;
+			if((b & 0xC0) != 0x80)
+				chars++;
+			if((b & 0xF0) == 0xF0)
+				chars++;
+		}
+		return chars;
+	}
+
+	private boolean endsWithNewline(FileChannel channel) throws IOException {
+		ByteBuffer last = ByteBuffer.allocate(1);
+		channel.read(last, size - 1);
+		return last.get(0) == '\n';
+	}
+
+	/** @return    */
+	public boolean isReady() {
+		return built.getCount() == 0;
+	}
+
+	/**
+	 *    
+	 * @param known    
+	 * @return   :  known   ,   
+	 */
+	public synchronized int awaitCheckpoints(int known) throws InterruptedException {
+		while(count <= known && !isReady())
+			wait();
+		return count;
+	}
+
+	/**
+	 * @param k    ( ,   awaitCheckpoints)
+	 * @return    k * STRIDE
+	 */
+	public synchronized long checkpoint(int k) {
+		return checkpoints[k];
+	}
+
+	/**
+	 * @param offset   
+	 * @return  UTF-16         UTF-8  -1,  
+	 *     (       )
+	 */
+	public synchronized long utf8CharsBefore(long offset) {
+		if(isReady() && offset == size)
+			return utf8Total;
+		int k = Arrays.binarySearch(checkpoints, 0, count, offset);
+		return (k < 0) ? -1 : utf8Chars[k];
+	}
+
+	/** @return     ( ) */
+	public long lineCount() {
+		return lineCount;
+	}
+
+	/**
+	 *    
+	 * @param line    
+	 * @return     -1,    
+	 */
+	public long lineStart(long line) throws IOException {
+		if(line < 0 || line >= lineCount)
+			return -1;
+		long pos = checkpoints[(int)(line / STRIDE)];
+		int skip = (int)(line % STRIDE);
+		if(skip == 0)
+			return pos;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			while(pos < size) { //    
+				try(MappedRegion region = MappedRegion.map(channel, pos, Math.min(WINDOW_SIZE, size - pos))) {
+					MappedByteBuffer buffer = region.buffer();
+					buffer.order(ByteOrder.LITTLE_ENDIAN);
+					for(int i = 0; (i = NEWLINE.indexOf(buffer, i, buffer.limit())) != -1; i++)
+						if(--skip == 0)
+							return pos + i + 1;
+					pos += buffer.limit();
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 *      
+	 * @param offset   
+	 * @return    
+	 */
+	public long lineOf(long offset) throws IOException {
+		long[] known;
+		int n;
+		synchronized(this) { //   ,    
+			known = checkpoints;
+			n = count;
+		}
+		int k = Arrays.binarySearch(known, 0, n, offset);
+		if(k < 0)
+			k = -k - 2; //     offset
+		long line = (long)k * STRIDE, pos = known[k];
+		if(offset <= pos)
+			return line;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			MappedRegion region = MappedRegion.map(channel, pos, Math.min(offset, size) - pos)) {
+			MappedByteBuffer buffer = region.buffer();
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			for(int i = 0; (i = NEWLINE.indexOf(buffer, i, buffer.limit())) != -1; i++)
+				line++;
+		}
+		return line;
+	}
+
+	/**
+	 *      
+	 * @param offset   
+	 * @param charset  
+	 * @return      
+	 */
+	public int columnOf(long offset, Charset charset) throws IOException {
+		long start = lineStart(lineOf(offset));
+		if(start < 0 || offset <= start)
+			return 0;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer prefix = ByteBuffer.allocate((int)Math.min(offset - start, Integer.MAX_VALUE - 8));
+			channel.read(prefix, start);
+			prefix.flip();
+			return charset.decode(prefix).length();
+		}
+	}
+
+	/**
+	 *       
+	 * @param channel  
+	 * @param pos  
+	 * @return      pos (pos,     )
+	 */
+	public static long alignToLine(FileChannel channel, long pos) throws IOException {
+		long fileSize = channel.size();
+		if(pos <= 0 || pos >= fileSize)
+			return Math.max(Math.min(pos, fileSize), 0);
+		try(MappedRegion region = MappedRegion.map(channel, pos - 1, Math.min(ALIGN_LIMIT, fileSize - pos + 1))) {
+			MappedByteBuffer buffer = region.buffer();
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			int newline = NEWLINE.indexOf(buffer, 0, buffer.limit());
+			return (newline == -1) ? pos : pos + newline;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ *      WatchService.
+ *    ,      ,   
+ *     (         ).
+ */
+public class LogFollower implements Closeable {
+	/**     */
+	private final WatchService watcher;
+	/**     */
+	private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+	/**       */
+	private final Map<Path, Long> scanned = new ConcurrentHashMap<>();
+	/**        */
+	private final AtomicInteger unwatched = new AtomicInteger();
+
+	public LogFollower(FileSystem fileSystem) throws IOException {
+		watcher = fileSystem.newWatchService();
+	}
+
+	/**
+	 *     
+	 * @param dir 
+	 */
+	public void register(Path dir) throws IOException {
+		WatchKey key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		directories.put(key, dir);
+	}
+
+	/**
+	 *     ,   :    
+	 * (,   inotify),    ,        .
+	 *  stderr     ,   -     
+	 * @param dir 
+	 * @return     
+	 */
+	public boolean tryRegister(Path dir) {
+		try {
+			register(dir);
+			return true;
+		} catch(IOException e) {
+			if(unwatched.getAndIncrement() == 0)
+				System.err.println("     " + dir + ",       : " + e);
+			return false;
+		}
+	}
+
+	/** @return        */
+	public int getUnwatchedCount() {
+		return unwatched.get();
+	}
+
+	/**
+	 *      
+	 * @param file   
+	 * @param size     
+	 */
+	public void remember(Path file, long size) {
+		scanned.put(file, size);
+	}
+
+	/**
+	 *  :      .      close()
+	 * @param accept   
+	 * @param finder  ,    
+	 */
+	public void follow(Predicate<Path> accept, FindFiles finder) {
+		try {
+			while(!Thread.currentThread().isInterrupted()) {
+				WatchKey key = watcher.take();
+				Set<Path> changed = new LinkedHashSet<>(); //       
+				boolean overflow = false;
+				do {
+					Path dir = directories.get(key);
+					for(WatchEvent<?> event : key.pollEvents()) {
+						if(event.kind() == StandardWatchEventKinds.OVERFLOW) { //   
+							overflow = true;
+							continue;
+						}
+						if(dir == null)
+							continue;
+						Path path = dir.resolve((Path)event.context());
+						if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS))
+							registerNewDirectory(path, accept, changed);
+						else if(accept.test(path))
+							changed.add(path);
+					}
+					if(!key.reset())
+						directories.remove(key);
+				} while((key = watcher.poll()) != null);
+				if(overflow)
+					changed.addAll(scanned.keySet()); //     
+				for(Path file : changed) {
+					if(Thread.currentThread().isInterrupted())
+						return;
+					long from = scanned.getOrDefault(file, 0L);
+					scanned.put(file, finder.scanAppended(file, from));
+				}
+			}
+		} catch(InterruptedException | ClosedWatchServiceException e) {
+			//  
+		}
+	}
+
+	/**      ;        */
+	private void registerNewDirectory(Path dir, Predicate<Path> accept, Set<Path> changed) {
+		try {
+			Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attr) {
+					tryRegister(path);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+					if(accept.test(file))
+						changed.add(file);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch(IOException e) {
+			//     
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(unwatched.get() > 1)
+			System.err.println("    : " + unwatched.get());
+		watcher.close();
+	}
+}
@@ -1,11 +1,21 @@
 import org.eclipse.swt.widgets.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
-import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.*;
@@ -20,14 +30,25 @@ public class MainWindow {
 						 PATH_TEXT = "Path",
 						 RUNNINGTHREAD_NAME = "RunningThread",
 						 OFFSET_TEXT = "Offset",
+						 HITS_TEXT = "Hits",
+						 HITITERATOR_TEXT = "HitIterator",
+						 LINEINDEX_TEXT = "LineIndex",
+						 MAPPED_TEXT = "Mapped",
+						 NODE_TEXT = "Node",
 						 STARTSEARCHTEXT = " ", 
 						 STOPSEARCHTEXT = " ";
+	/**    ;  -    */
+	private static final String[] CHARSETS = {"", "UTF-8", "windows-1251", "UTF-16LE", "UTF-16BE", "KOI8-R", "IBM866"};
 	/**     */
 	private String selectedPath;
 	/**   */
 	private String windowTitle = "Text Finder";
 	/**    */
 	private Tree fileSystemTree;
+	/**  ,    */
+	private final PathTrie foundFiles = new PathTrie();
+	/**     :  ,    */
+	private final Map<PathTrie.Node, TreeItem> directoryItems = new HashMap<>();
 	/**      */
 	private CTabFolder tabFolder;
 	/**    */
@@ -41,6 +62,18 @@ public class MainWindow {
 			-  
 			-      */
 	private ExecutorService threadPool;
+	/**    :         */
+	private volatile ResultChannel shownResults;
+	/**   :      ,    FindFiles.getInstance() */
+	private volatile FindFiles search;
+	/**      -     JMX */
+	private int searchNumber;
+	/**      ,  */
+	private static final int FRAME_INTERVAL = 50;
+	/**            */
+	private static final int MAX_BATCH = 20_000;
+	/**           */
+	private static final int PREVIEW_LENGTH = 150;
 	
 	private final int maxElems = 20_000_000, //  ,   1 
 			maxCapacity = 100_000_000; //   ,      
@@ -61,7 +94,7 @@ public class MainWindow {
 		shell.addDisposeListener(new DisposeListener() {
 			@Override
 			public void widgetDisposed(DisposeEvent e) {
-				FindFiles.getInstance().stopSearch();
+				closeSearch();
 				if(threadPool != null)
 					threadPool.shutdownNow();
 			}
@@ -113,6 +146,87 @@ public class MainWindow {
 	        
 	        searchButton = new Button(header, SWT.NONE); //   
 	        searchButton.setText(STARTSEARCHTEXT);
+	        
+	        Button allOccurrences = new Button(header, SWT.CHECK); //      
+	        allOccurrences.setText(" ");
+	        allOccurrences.setToolTipText("   ,    ");
+	        
+	        Button multiPattern = new Button(header, SWT.CHECK); //       
+	        multiPattern.setText(" ");
+	        multiPattern.setToolTipText("  ,   |,      ");
+	        
+	        Button regexMode = new Button(header, SWT.CHECK); //     
+	        regexMode.setText(" ");
+	        regexMode.setToolTipText("       ");
+	        regexMode.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().regexMode = regexMode.getSelection();
+	        	}
+	        });
+	        
+	        Button followNewData = new Button(header, SWT.CHECK); //     
+	        followNewData.setText("");
+	        followNewData.setToolTipText("           ");
+	        followNewData.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().followNewData = followNewData.getSelection();
+	        	}
+	        });
+	        
+	        Button useIndex = new Button(header, SWT.CHECK); //    
+	        useIndex.setText("");
+	        useIndex.setToolTipText("        ");
+	        useIndex.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().useIndex = useIndex.getSelection();
+	        	}
+	        });
+	        
+	        Button useResultCache = new Button(header, SWT.CHECK); //     
+	        useResultCache.setText(" ");
+	        useResultCache.setToolTipText("        ,    ");
+	        useResultCache.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().useResultCache = useResultCache.getSelection();
+	        	}
+	        });
+	        
+	        Button virtualThreads = new Button(header, SWT.CHECK); //   
+	        virtualThreads.setText(" ");
+	        virtualThreads.setToolTipText("        (Java 21+)");
+	        virtualThreads.setEnabled(VirtualScanScheduler.isSupported());
+	        virtualThreads.setSelection(FindFiles.getInstance().useVirtualThreads);
+	        virtualThreads.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().useVirtualThreads = virtualThreads.getSelection();
+	        	}
+	        });
+	        
+	        Button ignoreCase = new Button(header, SWT.CHECK); //     
+	        ignoreCase.setText("  ");
+	        ignoreCase.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		FindFiles.getInstance().ignoreCase = ignoreCase.getSelection();
+	        	}
+	        });
+	        
+	        Combo charset = new Combo(header, SWT.DROP_DOWN | SWT.READ_ONLY); //  
+	        charset.setItems(CHARSETS);
+	        charset.select(0);
+	        charset.setToolTipText(" ;  -  BOM    ");
+	        charset.addSelectionListener(new SelectionAdapter() {
+	        	@Override
+	        	public void widgetSelected(SelectionEvent e) { //     
+	        		int selected = charset.getSelectionIndex();
+	        		FindFiles.getInstance().charset = (selected <= 0) ? null : Charset.forName(CHARSETS[selected]);
+	        	}
+	        });
 	        searchButton.addSelectionListener(new SelectionAdapter() {
 	        	@Override
 	        	public void widgetSelected(SelectionEvent e) { //    
@@ -124,11 +238,12 @@ public class MainWindow {
 		        				return;
 		        			}
 		        		}
-		        		startFindFiles(inputText, inputExtension); //   
+		        		startFindFiles(inputText, inputExtension, allOccurrences.getSelection(), multiPattern.getSelection()); //   
 	        		} 
 		        	else {
 		        		changeButton(false); //    
-		        		FindFiles.getInstance().stopSearch(); //  
+		        		if(search != null)
+		        			search.stopSearch(); //  ,     
 		        		if(threadPool != null) //   
 		        			threadPool.shutdownNow();
 		        		updateStatusBar(); //  
@@ -160,8 +275,9 @@ public class MainWindow {
 	/**
 	 *      
 	 * @param pathToFile
+	 * @param findedFile    
 	 */
-	private void openFileInNewTab(String pathToFile, long offset) {
+	private void openFileInNewTab(String pathToFile, FindedFile findedFile) {
 		for(int i = 0; i < tabFolder.getItemCount(); i++) //     ,     
 			if(tabFolder.getItem(i).getData(PATH_TEXT).toString().equals(pathToFile))
 				return;
@@ -175,8 +291,18 @@ public class MainWindow {
 		textFolder.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true)); //  
 
 		newTab.setData(PATH_TEXT, pathToFile); //    
-		newTab.setData(OFFSET_TEXT, offset);
-		newTab.setText(pathToFile.substring(pathToFile.lastIndexOf("\\") + 1, pathToFile.length())); //  
+		newTab.setData(OFFSET_TEXT, findedFile.offset);
+		newTab.setData(HITS_TEXT, findedFile);
+		//        ,       
+		boolean mapped = compressedFormat(pathToFile) == null && MappedTextContent.supports(viewerCharset(pathToFile));
+		newTab.setData(MAPPED_TEXT, mapped);
+		if(mapped) { //     ,   
+			try {
+				newTab.setData(LINEINDEX_TEXT, LineIndex.of(Paths.get(pathToFile)));
+			} catch(IOException | InvalidPathException e) { }
+		}
+		Path fileName = Paths.get(pathToFile).getFileName(); //   -   
+		newTab.setText((fileName != null) ? fileName.toString() : pathToFile); //  
 		newTab.setImage(new Image(Display.getDefault(), ".\\img\\tabLoading.gif"));
 		newTab.addDisposeListener(new DisposeListener() { 
 			@Override
@@ -186,7 +312,7 @@ public class MainWindow {
 					fileOpener.interrupt(); //   
 				}
 				StyledText text = ((StyledText) textFolder.getChildren()[0]);
-				curChars -= text.getCharCount();
+				releaseText(text);
 				text.setText(" ");
 				text.dispose(); //    
 				textFolder.dispose();
@@ -198,7 +324,7 @@ public class MainWindow {
 		tabFolder.setSelection(newTab); //   
 		
 		//   1   
-		if((int)((new File(pathToFile).length()) / maxCapacity) > 0) 
+		if(contentLength(pathToFile, findedFile) / pageSize(newTab) > 0) 
 			createPagesButtons(compositePage, textFolder, true); //      
 		else
 			createPagesButtons(compositePage, textFolder, false);
@@ -211,8 +337,8 @@ public class MainWindow {
 		if(textFolder.getChildren().length > 0) {
 			StyledText oldText = (StyledText)textFolder.getChildren()[0];
 			if(oldText != null && !oldText.isDisposed()) {
-				if(oldText.getText().length() > 0) {
-					curChars -= oldText.getCharCount();
+				if(oldText.getCharCount() > 0) {
+					releaseText(oldText);
 					oldText.dispose();
 				}
 				else
@@ -246,11 +372,12 @@ public class MainWindow {
 	/**        */
 	private void createPagesButtons(Composite parent, Composite textFolder, boolean needToMakeButtons) {
         Composite buttonsComposite = new Composite(parent, SWT.NONE);
-        buttonsComposite.setLayout(new GridLayout(4, false));
+        buttonsComposite.setLayout(new GridLayout(7, false));
         GridData gridData = new GridData(SWT.FILL, SWT.FILL, true, false);
         buttonsComposite.setLayoutData(gridData);
         final Label buttonBack; //  ""
         final Label buttonForward; //  ""
+        final Label[] position = new Label[1]; //      ( )
         if(needToMakeButtons) {
 	        buttonBack = new Label(buttonsComposite, SWT.NONE); //  ""
 	        buttonForward = new Label(buttonsComposite, SWT.NONE); //  ""
@@ -292,23 +419,170 @@ public class MainWindow {
         }
         Label buttonGoToText = new Label(buttonsComposite, SWT.NONE); //  "  "
         buttonGoToText.setImage(new Image(Display.getDefault(), ".\\img\\goToString.png"));
-        buttonGoToText.setToolTipText("   ");
+        buttonGoToText.setToolTipText("    ");
         buttonGoToText.addMouseListener(new MouseAdapter() {
         	@Override
         	public void mouseDown(MouseEvent e) { //     "  "
         		CTabItem selectedTab = tabFolder.getSelection();
-        		long offset = (long)selectedTab.getData(OFFSET_TEXT);
+        		//       ,   -   
+        		PrimitiveIterator.OfLong hitIterator = (PrimitiveIterator.OfLong)selectedTab.getData(HITITERATOR_TEXT);
+        		if(hitIterator == null || !hitIterator.hasNext()) {
+        			hitIterator = ((FindedFile)selectedTab.getData(HITS_TEXT)).offsets();
+        			selectedTab.setData(HITITERATOR_TEXT, hitIterator);
+        		}
+        		long offset = hitIterator.nextLong();
+        		selectedTab.setData(OFFSET_TEXT, offset);
         		int page = (int)selectedTab.getData(PAGE_TEXT);
-        		if(page != (int)(offset / maxCapacity) + 1) {
-        			openPage(selectedTab, (int)(offset / maxCapacity) + 1, new Label[] {buttonBack, buttonForward});
+        		int hitPage = pageOf(selectedTab, offset - 1);
+        		if(page != hitPage) {
+        			openPage(selectedTab, hitPage, new Label[] {buttonBack, buttonForward});
         			readFromFileToTextBrowser(textFolder, (String)selectedTab.getData(PATH_TEXT), selectedTab); //     
         		}
         		StyledText text = ((StyledText) textFolder.getChildren()[0]);
-        		text.setCaretOffset((int) (offset - (int)(offset / maxCapacity) * maxCapacity) - 1);
+        		moveCaret(selectedTab, text, offset - 1, position[0]);
         		text.setFocus();
         		text.showSelection();
         	}
         });
+        
+        new Label(buttonsComposite, SWT.NONE).setText(":");
+        Text lineInput = new Text(buttonsComposite, SWT.BORDER | SWT.SINGLE); //  "  "
+        lineInput.setLayoutData(new GridData(80, SWT.DEFAULT));
+        lineInput.setToolTipText(" , Enter - ");
+        lineInput.addSelectionListener(new SelectionAdapter() {
+        	@Override
+        	public void widgetDefaultSelected(SelectionEvent e) { //   Enter    
+        		CTabItem selectedTab = tabFolder.getSelection();
+        		if(selectedTab == null)
+        			return;
+        		LineIndex index = (LineIndex)selectedTab.getData(LINEINDEX_TEXT);
+        		if(index == null) {
+        			showPosition(position[0], "   ");
+        			return;
+        		}
+        		if(!index.isReady()) {
+        			showPosition(position[0], "  ...");
+        			return;
+        		}
+        		long line;
+        		try {
+        			line = Long.parseLong(lineInput.getText().trim());
+        		} catch(NumberFormatException ex) {
+        			showPosition(position[0], "  ");
+        			return;
+        		}
+        		try {
+        			long pos = index.lineStart(Math.min(Math.max(line, 1), index.lineCount()) - 1);
+        			if(pos < 0) {
+        				showPosition(position[0], " ");
+        				return;
+        			}
+        			String path = (String)selectedTab.getData(PATH_TEXT);
+        			int page = pageOf(selectedTab, pos);
+        			if(page != (int)selectedTab.getData(PAGE_TEXT)) {
+        				openPage(selectedTab, page, new Label[] {buttonBack, buttonForward});
+        				readFromFileToTextBrowser(textFolder, path, selectedTab); //     
+        			}
+        			StyledText text = ((StyledText) textFolder.getChildren()[0]);
+        			moveCaret(selectedTab, text, pos, position[0]);
+        			text.setFocus();
+        			text.showSelection();
+        		} catch(IOException ex) {
+        			showPosition(position[0], "  ");
+        		}
+        	}
+        });
+        position[0] = new Label(buttonsComposite, SWT.NONE); // label    
+	}
+	
+	/**
+	 *          :     ,
+	 *     -    ,       .
+	 *               
+	 * @param tab  
+	 * @param text   
+	 * @param pos    ( )
+	 * @param positionText     
+	 */
+	private void moveCaret(CTabItem tab, StyledText text, long pos, Label positionText) {
+		String path = (String)tab.getData(PATH_TEXT);
+		LineIndex index = (LineIndex)tab.getData(LINEINDEX_TEXT);
+		long pageStart = pageStart(tab, (int)tab.getData(PAGE_TEXT));
+		if((boolean)tab.getData(MAPPED_TEXT) && !(text.getContent() instanceof MappedTextContent)) {
+			showPosition(positionText, "  ...");
+			return;
+		}
+		if(index != null && index.isReady()) {
+			try {
+				long line = index.lineOf(pos);
+				int column = index.columnOf(pos, viewerCharset(path));
+				int lineOnPage = (int)(line - index.lineOf(pageStart));
+				showPosition(positionText, " " + (line + 1) + ":" + (column + 1));
+				if(lineOnPage < text.getLineCount()) {
+					int lineOffset = text.getOffsetAtLine(lineOnPage);
+					int lineEnd = (lineOnPage + 1 < text.getLineCount()) ? text.getOffsetAtLine(lineOnPage + 1) : text.getCharCount();
+					text.setCaretOffset(Math.min(lineOffset + column, lineEnd));
+					return;
+				}
+			} catch(IOException e) { }
+		}
+		text.setCaretOffset((int)Math.min(Math.max(pos - pageStart, 0), text.getCharCount()));
+	}
+	
+	/**        */
+	private void showPosition(Label positionText, String message) {
+		positionText.setText(message);
+		positionText.pack();
+		positionText.getParent().pack();
+	}
+	
+	/**
+	 * @return   : ,   ,    
+	 *  MappedTextContent.MAX_WINDOW,  -  maxCapacity
+	 */
+	private long pageSize(CTabItem tab) {
+		return (boolean)tab.getData(MAPPED_TEXT) ? MappedTextContent.MAX_WINDOW : maxCapacity;
+	}
+	
+	/**
+	 *    :  ,   ,   
+	 *   ,      
+	 * @param tab  
+	 * @param page  
+	 * @return     
+	 */
+	private long pageStart(CTabItem tab, int page) {
+		long start = (long)(Math.max(page, 1) - 1) * pageSize(tab);
+		if(page <= 1 || !(boolean)tab.getData(MAPPED_TEXT))
+			return start;
+		try(RandomAccessFile f = new RandomAccessFile((String)tab.getData(PATH_TEXT), "r")) {
+			return LineIndex.alignToLine(f.getChannel(), start);
+		} catch(IOException e) {
+			return start;
+		}
+	}
+	
+	/** @return  ,      */
+	private int pageOf(CTabItem tab, long pos) {
+		int page = (int)(pos / pageSize(tab)) + 1;
+		return (page > 1 && pos < pageStart(tab, page)) ? page - 1 : page;
+	}
+	
+	/**     :      ,   */
+	private void releaseText(StyledText text) {
+		if(!(text.getContent() instanceof MappedTextContent))
+			curChars -= text.getCharCount();
+	}
+	
+	/** @return ,    :        */
+	private static Charset viewerCharset(String pathToFile) {
+		Charset fileCharset = FindFiles.getInstance().charset;
+		if(fileCharset == null) {
+			try(RandomAccessFile f = new RandomAccessFile(pathToFile, "r")) {
+				fileCharset = CharsetDetector.detect(f.getChannel());
+			} catch(IOException e) { }
+		}
+		return (fileCharset != null) ? fileCharset : Charset.defaultCharset();
 	}
 	
 	
@@ -356,7 +630,9 @@ public class MainWindow {
 		if(newTab.getData(PAGE_TEXT) == null) //       
 			newTab.setData(PAGE_TEXT, 1); //   
 		int page = (int)newTab.getData(PAGE_TEXT); 
-		int totalPages = ((int)((new File(pathToFile).length()) / maxCapacity)+1);
+		FindedFile findedFile = (FindedFile)newTab.getData(HITS_TEXT);
+		long contentLength = contentLength(pathToFile, findedFile);
+		int totalPages = ((int)(contentLength / pageSize(newTab))+1);
 		
 		if(newTab.getData(TOTALPAGES_TEXT) == null)  //    ,    
 			newTab.setData(TOTALPAGES_TEXT, totalPages);  //     
@@ -365,13 +641,26 @@ public class MainWindow {
 			updateButtonsStatus(newTab); //    
 		
 		StyledText textBrowser = createNewTextBrowser(textFolder);
+		boolean mapped = (boolean)newTab.getData(MAPPED_TEXT);
+		LineIndex index = (LineIndex)newTab.getData(LINEINDEX_TEXT);
+		long start = pageStart(newTab, page), end = (page < totalPages) ? pageStart(newTab, page + 1) : contentLength;
 		
 		newTab.setData(RUNNINGTHREAD_NAME,new Thread(() -> { //      
+			if(mapped && index != null) { //     ,   
+				readMappedPage(textBrowser, pathToFile, index, start, end, newTab);
+				return;
+			}
 			byte[] bts = new byte[maxElems]; //  ,   
-			try(RandomAccessFile f = new RandomAccessFile(pathToFile, "r")){ //    
-				int fileMapSize = 0;
-				fileMapSize  = (totalPages == 1) ? (int)f.length() : (page < totalPages) ? maxCapacity : (int)f.length() - (page - 1) * maxCapacity;
-				MappedByteBuffer buffer = f.getChannel().map(MapMode.READ_ONLY, (page - 1) * maxCapacity, fileMapSize);
+			if(compressedFormat(pathToFile) != null) { //       
+				readCompressedPage(textBrowser, pathToFile, findedFile, page, newTab);
+				return;
+			}
+			//    ;    ,    
+			try(RandomAccessFile f = new RandomAccessFile(pathToFile, "r");
+				MappedRegion region = MappedRegion.map(f.getChannel(), start, end - start)){
+				//      ,    
+				Charset fileCharset = viewerCharset(pathToFile);
+				MappedByteBuffer buffer = region.buffer();
 				//         
 				while(!Thread.currentThread().isInterrupted() && buffer.hasRemaining()) {
 					while(curChars > maxCharsAtOneMoment) { //    ,     
@@ -380,7 +669,7 @@ public class MainWindow {
 					if(buffer.remaining() < maxElems)
 						bts = new byte[buffer.remaining()];
 					buffer.get(bts);
-					appendStr(textBrowser, bts); //     
+					appendStr(textBrowser, bts, fileCharset); //     
 				}
 				Arrays.fill(bts, (byte)0); //   
 				Display.getDefault().syncExec(() -> {
@@ -393,15 +682,107 @@ public class MainWindow {
 		((Thread) newTab.getData(RUNNINGTHREAD_NAME)).start(); //  
 	}
 
+	/**
+	 *       StyledText:     ,
+	 *           
+	 * @param textBrowser   
+	 * @param pathToFile   
+	 * @param index   
+	 * @param start    
+	 * @param end    
+	 * @param newTab ,    
+	 */
+	private void readMappedPage(StyledText textBrowser, String pathToFile, LineIndex index, long start, long end, CTabItem newTab) {
+		try {
+			MappedTextContent content = new MappedTextContent(Paths.get(pathToFile), viewerCharset(pathToFile), start, end);
+			Display.getDefault().syncExec(() -> {
+				if(!textBrowser.isDisposed())
+					textBrowser.setContent(content);
+			});
+			content.load(index, Display.getDefault()::syncExec);
+			Display.getDefault().syncExec(() -> {
+				if(!newTab.isDisposed())
+					newTab.setImage(null); //   
+			});
+		}
+		catch(IOException e){ } catch (InterruptedException e) { }
+	}
+
+	/**
+	 *     :      
+	 * @param textBrowser   
+	 * @param pathToFile   
+	 * @param findedFile   (  )
+	 * @param page  
+	 * @param newTab ,    
+	 */
+	private void readCompressedPage(StyledText textBrowser, String pathToFile, FindedFile findedFile, int page, CTabItem newTab) {
+		try(InputStream in = CompressedScanner.open(Paths.get(pathToFile), findedFile.entry)) {
+			long skip = (long)(page - 1) * maxCapacity;
+			while(skip > 0 && !Thread.currentThread().isInterrupted()) {
+				long skipped = in.skip(skip);
+				if(skipped <= 0)
+					break;
+				skip -= skipped;
+			}
+			Charset fileCharset = FindFiles.getInstance().charset;
+			byte[] bts = new byte[maxElems];
+			long remaining = maxCapacity;
+			while(!Thread.currentThread().isInterrupted() && remaining > 0) {
+				while(curChars > maxCharsAtOneMoment) //    ,     
+					Thread.sleep(500);
+				int read = 0, toRead = (int)Math.min(bts.length, remaining), n;
+				while(read < toRead && (n = in.read(bts, read, toRead - read)) > 0)
+					read += n;
+				if(read == 0)
+					break;
+				if(fileCharset == null) { //     
+					fileCharset = CharsetDetector.detect(ByteBuffer.wrap(bts, 0, Math.min(read, 4096)).slice());
+					if(fileCharset == null)
+						fileCharset = Charset.defaultCharset();
+				}
+				appendStr(textBrowser, Arrays.copyOf(bts, read), fileCharset);
+				remaining -= read;
+			}
+			Display.getDefault().syncExec(() -> {
+				if(!newTab.isDisposed())
+					newTab.setImage(null); 
+			}); //   
+		}
+		catch(IOException e){ } catch (InterruptedException e) { }
+	}
+	
+	/** @return     null */
+	private static CompressedScanner.Format compressedFormat(String pathToFile) {
+		try {
+			return CompressedScanner.formatOf(Paths.get(pathToFile));
+		} catch(IOException | InvalidPathException e) {
+			return null;
+		}
+	}
+	
+	/** @return   :   -   */
+	private static long contentLength(String pathToFile, FindedFile findedFile) {
+		if(compressedFormat(pathToFile) != null) {
+			try {
+				return Math.max(CompressedScanner.contentLength(Paths.get(pathToFile), findedFile == null ? null : findedFile.entry), 0);
+			} catch(IOException e) {
+				return 0;
+			}
+		}
+		return new File(pathToFile).length();
+	}
+	
 	/**
 	 *     
 	 * @param textBrowser   
 	 * @param byteStr   
+	 * @param charset  
 	 */
-	private void appendStr(StyledText textBrowser, byte[] byteStr) {
+	private void appendStr(StyledText textBrowser, byte[] byteStr, Charset charset) {
 		Display.getDefault().syncExec(() -> {
 			if(textBrowser != null && !textBrowser.isDisposed()) { //  ,  
-				textBrowser.append(new String(byteStr)); //   
+				textBrowser.append(new String(byteStr, charset)); //   
 				curChars += byteStr.length;
 			}
 		});
@@ -441,8 +822,15 @@ public class MainWindow {
         
         new Label(treeComposite, SWT.NONE).setText(" ");
 
-        fileSystemTree = new Tree(treeComposite, SWT.BORDER); //  
+        fileSystemTree = new Tree(treeComposite, SWT.BORDER | SWT.VIRTUAL); //  ,     
         fileSystemTree.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        fileSystemTree.addListener(SWT.SetData, e -> { //     
+        	TreeItem item = (TreeItem)e.item;
+        	TreeItem parentItem = item.getParentItem();
+        	PathTrie.Node parentNode = (parentItem == null) ? foundFiles.root() : (PathTrie.Node)parentItem.getData(NODE_TEXT);
+        	if(parentNode != null && e.index < parentNode.childCount())
+        		showNode(item, parentNode.child(e.index));
+        });
         fileSystemTree.addMouseListener(new MouseListener() {
 			@Override
 			public void mouseUp(MouseEvent e) { //      
@@ -454,8 +842,8 @@ public class MainWindow {
 			public void mouseDoubleClick(MouseEvent e) { //   
 				TreeItem selectedItem = fileSystemTree.getItem(new Point(e.x, e.y)); //  Item   
 				//    Item   ,      
-				if(selectedItem != null && selectedItem.getText().charAt(selectedItem.getText().length() - 1) != '\\')
-					openFileInNewTab((String)selectedItem.getData(PATH_TEXT), (long)selectedItem.getData(OFFSET_TEXT));
+				if(selectedItem != null && selectedItem.getData(HITS_TEXT) != null)
+					openFileInNewTab((String)selectedItem.getData(PATH_TEXT), (FindedFile)selectedItem.getData(HITS_TEXT));
 			}
 
 			@Override
@@ -512,7 +900,7 @@ public class MainWindow {
 					newItemOpenFile.addSelectionListener(new SelectionAdapter() {
 						@Override
 						public void widgetSelected(SelectionEvent e) {
-							openFileInNewTab((String)selectedTreeItems[0].getData(PATH_TEXT), (long)selectedTreeItems[0].getData(OFFSET_TEXT)); //  ,    
+							openFileInNewTab((String)selectedTreeItems[0].getData(PATH_TEXT), (FindedFile)selectedTreeItems[0].getData(HITS_TEXT)); //  ,    
 						}
 					});
 				}
@@ -528,8 +916,10 @@ public class MainWindow {
 		item.setExpanded(expand); //     
 		
 		TreeItem[] childItems = item.getItems(); //   
-		for(TreeItem childItem : childItems) //      
+		for(TreeItem childItem : childItems) { //      
+			childItem.getText(); //       
 			expandOrCollapseFileSystemTree(childItem, expand);
+		}
 	}
 	
 	/**
@@ -573,12 +963,14 @@ public class MainWindow {
 	 *    
 	 * @param inputText ,   
 	 * @param inputExtension   
+	 * @param allOccurrences       
+	 * @param multiPattern    ,   |
 	 */
-	private void startFindFiles(Text inputText, Text inputExtension) {
+	private void startFindFiles(Text inputText, Text inputExtension, boolean allOccurrences, boolean multiPattern) {
 		if(threadPool != null) //  
 			threadPool.shutdownNow();
 		threadPool = Executors.newFixedThreadPool(3); //     
-		FindFiles.getInstance().stopSearch(); //    
+		closeSearch(); //    
 
 		String textToFind = inputText.getText(); //  ,   
 		String extension = inputExtension.getText().replaceAll("[\\\\/:?\"<>|]", ""); //     
@@ -588,12 +980,22 @@ public class MainWindow {
 			showTooltip(inputExtension, "  !"); //    
 		else
 			if(textToFind != "") { //   
+				String[] textsToFind = multiPattern ? splitPatterns(textToFind) : new String[] {textToFind};
+				if(textsToFind.length == 0) {
+					showTooltip(inputText, "  !"); //    
+					return;
+				}
+				if(FindFiles.getInstance().regexMode && (textsToFind.length > 1 || !isValidRegex(textToFind))) {
+					showTooltip(inputText, "  !"); //    
+					return;
+				}
 				changeButton(true); //     
 				
-				fileSystemTree.removeAll(); //    
+				clearFileSystemTree(); //    
+				FindFiles session = search = newSearchSession(allOccurrences);
 				
 				threadPool.execute(() -> { //    
-					FindFiles.getInstance().findFilesInDirectory(textToFind, selectedPath, "." + extension);
+					session.findFilesInDirectory(textsToFind, selectedPath, "." + extension);
 				});
 				
 				threadPool.execute(() -> { //      0.5 .
@@ -603,19 +1005,19 @@ public class MainWindow {
 							Thread.sleep(500);
 						} catch (InterruptedException e) { }
 					}
-					while(!Thread.currentThread().isInterrupted() && FindFiles.getInstance().processing);
+					while(!Thread.currentThread().isInterrupted() && session.processing);
 					updateStatusBar();
 				});
 				
+				ResultChannel results = shownResults = session.getResults(); //     
 				threadPool.execute(() -> { //      
-					while(!Thread.currentThread().isInterrupted() && (FindFiles.getInstance().processing || !FindFiles.getInstance().isQueueEmpty())) 
-						if(!FindFiles.getInstance().isQueueEmpty())
-							Display.getDefault().syncExec(() -> {
-								if(!Thread.currentThread().isInterrupted())
-									updateFileSystemTree(FindFiles.getInstance().getFromQueue());
-							});
-					Display.getDefault().syncExec(() -> {
-						if(!Thread.currentThread().isInterrupted()) {
+					try {
+						showResults(results);
+					} catch(InterruptedException e) {
+						return;
+					}
+					Display.getDefault().asyncExec(() -> {
+						if(results == shownResults) {
 							changeButton(false);
 							threadPool.shutdownNow();
 						}
@@ -627,50 +1029,149 @@ public class MainWindow {
 	}	
 	
 	/**
-	 *    
-	 * @param path   
+	 *     :    ,      -,
+	 *       
+	 * @param allOccurrences       
+	 * @return   ,   
 	 */
-	private synchronized void updateFileSystemTree(FindedFile findedFile) {
-		Path path = findedFile.pathToFile;
-		if(path == null || fileSystemTree == null || (fileSystemTree != null && fileSystemTree.isDisposed()) 
-				|| Thread.currentThread().isInterrupted())
-			return;
-		String[] pathToFile = path.toString().split("\\\\"); //    \\
-
-		TreeItem treeItem = null;
-		TreeItem[] treeItems = fileSystemTree.getItems(); //    
-		if(treeItems.length == 0) { //    
-			treeItem =  new TreeItem(fileSystemTree, SWT.NONE); //   
-			treeItem.setText(pathToFile[0] + "\\");
-			for(int i = 1; i < pathToFile.length; i++) {
-				treeItem = new TreeItem(treeItem, 0);
-				treeItem.setText(pathToFile[i] + "\\");
+	private FindFiles newSearchSession(boolean allOccurrences) {
+		FindFiles options = FindFiles.getInstance();
+		FindFiles session = new FindFiles("window-" + (++searchNumber));
+		session.regexMode = options.regexMode;
+		session.followNewData = options.followNewData;
+		session.useIndex = options.useIndex;
+		session.useResultCache = options.useResultCache;
+		session.useVirtualThreads = options.useVirtualThreads;
+		session.ignoreCase = options.ignoreCase;
+		session.charset = options.charset;
+		session.priority = IoLimiter.Priority.INTERACTIVE; //      
+		session.findAllOccurrences = allOccurrences;
+		session.contextLines = 0; //         
+		session.maxContextHits = 1;
+		return session;
+	}
+	
+	/**         */
+	private void closeSearch() {
+		FindFiles session = search;
+		if(session != null)
+			session.close();
+	}
+	
+	/**
+	 *      .       
+	 *  asyncExec     FRAME_INTERVAL;     ,  ,
+	 *         
+	 * @param results   
+	 */
+	private void showResults(ResultChannel results) throws InterruptedException {
+		Semaphore applied = new Semaphore(1); //      
+		List<FindedFile> batch = new ArrayList<>();
+		long nextFrame = 0;
+		while(!Thread.currentThread().isInterrupted()) {
+			if(batch.size() < MAX_BATCH)
+				results.drain(batch, MAX_BATCH - batch.size(), FRAME_INTERVAL);
+			boolean finished = results.isFinished();
+			if(batch.isEmpty()) {
+				if(finished)
+					return;
+				continue;
 			}
-		}
-		else { //    ,    
-			treeItem = treeItems[0];
-			int k = 0;
-			for(int i = 0; i < treeItems.length  && k < pathToFile.length; ) {
-				if(treeItems[i].getText().lastIndexOf('\\') != -1 && 
-						treeItems[i].getText().substring(0, treeItems[i].getText().lastIndexOf('\\')).equals(pathToFile[k])) {
-					treeItem = treeItems[i];
-					treeItems = treeItems[i].getItems();
-					i = 0;
-					k++;
+			if(!finished && batch.size() < MAX_BATCH && System.currentTimeMillis() < nextFrame)
+				continue;
+			applied.acquire();
+			List<FindedFile> frame = batch;
+			batch = new ArrayList<>();
+			nextFrame = System.currentTimeMillis() + FRAME_INTERVAL;
+			Display.getDefault().asyncExec(() -> {
+				try {
+					if(results == shownResults)
+						updateFileSystemTree(frame);
+				} finally {
+					applied.release();
 				}
-				else
-					i++;
-			}
-			
-			//     
-			for(; k < pathToFile.length; k++) {
-				treeItem = new TreeItem(treeItem, SWT.NONE);
-				treeItem.setText(pathToFile[k] + "\\");
+			});
+		}
+	}
+	
+	/**         | */
+	private static String[] splitPatterns(String text) {
+		return Arrays.stream(text.split("\\|")).filter(str -> !str.isEmpty()).distinct().toArray(String[]::new);
+	}
+	
+	/**      */
+	private static boolean isValidRegex(String regex) {
+		try {
+			Pattern.compile(regex);
+			return true;
+		} catch(PatternSyntaxException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 *    :    ,     
+	 *       -     
+	 * @param findedFiles  
+	 */
+	private void updateFileSystemTree(List<FindedFile> findedFiles) {
+		if(fileSystemTree == null || fileSystemTree.isDisposed())
+			return;
+		Set<PathTrie.Node> changed = new LinkedHashSet<>();
+		for(FindedFile findedFile : findedFiles)
+			if(findedFile.pathToFile != null)
+				changed.add(foundFiles.add(findedFile));
+		for(PathTrie.Node node : changed) {
+			if(node == foundFiles.root()) {
+				fileSystemTree.setItemCount(node.childCount());
+				continue;
 			}
+			TreeItem item = directoryItems.get(node);
+			if(item != null && !item.isDisposed())
+				item.setItemCount(node.childCount());
 		}
-		treeItem.setText(treeItem.getText().substring(0, treeItem.getText().length() - 1));	 //     \\
-		treeItem.setData(PATH_TEXT, path.toString()); //    
-		treeItem.setData(OFFSET_TEXT, findedFile.offset);
+	}
+	
+	/**         */
+	private void clearFileSystemTree() {
+		fileSystemTree.removeAll();
+		foundFiles.clear();
+		directoryItems.clear();
+	}
+	
+	/**
+	 *    
+	 * @param item  
+	 * @param node  ,   
+	 */
+	private void showNode(TreeItem item, PathTrie.Node node) {
+		item.setData(NODE_TEXT, node);
+		if(!node.isFile()) { //      
+			item.setText(node.name.endsWith(File.separator) ? node.name : node.name + File.separator);
+			item.setItemCount(node.childCount());
+			directoryItems.put(node, item);
+			return;
+		}
+		FindedFile findedFile = node.file;
+		String text = node.name;
+		if(findedFile.entry != null) // ,      
+			text += " > " + findedFile.entry;
+		if(findedFile.pattern != null) // ,    
+			text += " [" + findedFile.pattern + "]";
+		if(findedFile.offsets != null) //       
+			text += " (" + findedFile.hitCount() + (findedFile.truncated ? "+" : "") + ")";
+		if(findedFile.contexts != null && findedFile.contexts.length > 0) //    
+			text += ":  " + preview(findedFile.contexts[0].hitText());
+		item.setText(text);
+		item.setData(PATH_TEXT, findedFile.pathToFile.toString()); //    
+		item.setData(OFFSET_TEXT, findedFile.offset);
+		item.setData(HITS_TEXT, findedFile);
+	}
+	
+	/** @return    :     ,   PREVIEW_LENGTH */
+	private static String preview(String line) {
+		String text = line.replace('\t', ' ').trim();
+		return (text.length() > PREVIEW_LENGTH) ? text.substring(0, PREVIEW_LENGTH) + "" : text;
 	}
 	
 	/**
@@ -682,12 +1183,28 @@ public class MainWindow {
 				if(Thread.currentThread().isInterrupted() || toolBarText == null || 
 						(toolBarText != null && toolBarText.isDisposed()))
 					return;
-				FindFiles instance = FindFiles.getInstance();
-			toolBarText.setText(" : " + instance.filesInProgressCount + 
-								".  : " + instance.filesDoneCount + 
-								".  : " + (System.nanoTime() - instance.startedTime)/1_000_000_000 + " .");
-			if(!instance.processing)
+				FindFiles instance = search;
+				if(instance == null)
+					return;
+				SearchMetrics.Snapshot metrics = instance.getMetrics().snapshot();
+			toolBarText.setText(" : " + metrics.filesInProgress + 
+								".  : " + metrics.filesDone + 
+								".  : " + metrics.elapsedMillis / 1000 + " ." +
+								String.format(" : %.1f /.", metrics.megabytesPerSecond));
+			toolBarText.setToolTipText(metrics.getThroughput()); //  -   
+			if(instance.findAllOccurrences)
+				toolBarText.setText(toolBarText.getText() + " : " + instance.getTotalHits() + ".");
+			if(instance.following)
+				toolBarText.setText(toolBarText.getText() + "    .");
+			if(!instance.processing) {
 				toolBarText.setText(toolBarText.getText() + "  .");
+				if(instance.getRegexSearcher() != null)
+					toolBarText.setText(toolBarText.getText() + " " + instance.getRegexSearcher().getStats() + ".");
+				if(instance.getIndex() != null)
+					toolBarText.setText(toolBarText.getText() + " " + instance.getIndex().getStats() + ".");
+				if(instance.getResultCache() != null)
+					toolBarText.setText(toolBarText.getText() + " " + instance.getResultCache().getStats() + ".");
+			}
 			});
 	}
 }
\ No newline at end of file
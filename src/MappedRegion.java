@@ -0,0 +1,91 @@
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ *  ,      ,   : try-with-resources
+ *     ,        .
+ *        ( , vm.max_map_count),
+ *   Windows   .  -   
+ * (Unsafe.invokeCleaner  Java 9+, DirectBuffer.cleaner()  Java 8);     
+ * (-Dfindtext.unmap=false), ,   ,   .
+ *  close     (duplicate, slice)  :   
+ *   JVM,         try.
+ */
+public class MappedRegion implements AutoCloseable {
+	/**    (null -  ) */
+	private static final Unmapper UNMAPPER = "false".equals(System.getProperty("findtext.unmap")) ? null : createUnmapper();
+
+	/**    */
+	private interface Unmapper {
+		void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+	}
+
+	/**   (null -  ) */
+	private MappedByteBuffer buffer;
+
+	private MappedRegion(MappedByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 *         
+	 * @param channel  
+	 * @param position  
+	 * @param size   (  Integer.MAX_VALUE)
+	 * @return  
+	 */
+	public static MappedRegion map(FileChannel channel, long position, long size) throws IOException {
+		return new MappedRegion(channel.map(MapMode.READ_ONLY, position, size));
+	}
+
+	/** @return  ;    close */
+	public MappedByteBuffer buffer() {
+		if(buffer == null)
+			throw new IllegalStateException("  ");
+		return buffer;
+	}
+
+	/**   .      */
+	@Override
+	public void close() {
+		MappedByteBuffer mapped = buffer;
+		buffer = null;
+		if(mapped != null && UNMAPPER != null) {
+			try {
+				UNMAPPER.unmap(mapped);
+			} catch(ReflectiveOperationException | RuntimeException e) {
+				//   
+			}
+		}
+	}
+
+	/** @return      JVM  null */
+	private static Unmapper createUnmapper() {
+		try { // Java 9+
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			Object unsafe = theUnsafe.get(null);
+			return buffer -> invokeCleaner.invoke(unsafe, buffer);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// Java 8
+		}
+		try {
+			Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+			Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			return buffer -> {
+				Object bufferCleaner = cleaner.invoke(buffer);
+				if(bufferCleaner != null) //     
+					clean.invoke(bufferCleaner);
+			};
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
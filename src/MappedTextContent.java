@@ -0,0 +1,350 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+
+/**
+ *    StyledText     .      LineIndex.STRIDE 
+ * (    ),         
+ *    .     ,    
+ * ,     ,       .
+ *         ,      .
+ *   ,     -   '\n' (UTF-8  8-).
+ */
+public class MappedTextContent implements StyledTextContent {
+	/**     :    StyledText - int */
+	public static final long MAX_WINDOW = 1L << 30;
+	/**       */
+	private static final int CACHED_BLOCKS = 8;
+	/**      */
+	private static final int DECODE_CHUNK = 1 << 16;
+	/**      ,  ,  */
+	private static final int PUBLISH_INTERVAL = 100;
+
+	/**    */
+	private final Path path;
+	/**   */
+	private final Charset charset;
+	/**    [start, end),     */
+	private final long start, end;
+	/**    ,   - end */
+	private long[] blockOffsets;
+	/**    ,   -   */
+	private int[] blockLines = {0, 1};
+	/**    ,   -   */
+	private int[] blockChars = {0, 0};
+	/**  ,     */
+	private final Map<Integer, Block> blocks = new LinkedHashMap<Integer, Block>(CACHED_BLOCKS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, Block> eldest) {
+			return size() > CACHED_BLOCKS;
+		}
+	};
+	private final List<TextChangeListener> listeners = new ArrayList<>();
+	/**   -      */
+	private boolean cleared;
+
+	/**    */
+	private static class Block {
+		/**      */
+		final String text;
+		/**       */
+		final int[] lineStarts;
+
+		Block(String text, int[] lineStarts) {
+			this.text = text;
+			this.lineStarts = lineStarts;
+		}
+	}
+
+	/**
+	 * @param path   
+	 * @param charset  
+	 * @param start    ( )
+	 * @param end    (  start + MAX_WINDOW)
+	 */
+	public MappedTextContent(Path path, Charset charset, long start, long end) {
+		this.path = path;
+		this.charset = charset;
+		this.start = start;
+		this.end = Math.min(end, start + MAX_WINDOW);
+		blockOffsets = new long[] {start, start};
+	}
+
+	/** @return         :   -   '\n' */
+	public static boolean supports(Charset charset) {
+		byte[] newline = EncodedPattern.encode("\n", charset), letter = EncodedPattern.encode("A", charset);
+		return newline != null && newline.length == 1 && newline[0] == '\n' && letter != null && letter.length == 1;
+	}
+
+	/**
+	 *     (    ):     
+	 *     ,          .
+	 *    UTF-8    ,  8-   ,
+	 *   -  
+	 * @param index   
+	 * @param ui    :        StyledText
+	 */
+	public void load(LineIndex index, Executor ui) throws IOException, InterruptedException {
+		int known = index.awaitCheckpoints(0);
+		if(known == 0)
+			throw new IOException("   : " + path);
+		while(index.checkpoint(known - 1) <= start && !index.isReady()) //        start
+			known = index.awaitCheckpoints(known);
+		long firstLine = index.lineOf(start);
+		boolean utf8 = charset.equals(StandardCharsets.UTF_8);
+		boolean singleByte = charset.newDecoder().maxCharsPerByte() == 1 && charset.newEncoder().maxBytesPerChar() == 1;
+		List<Long> offsets = new ArrayList<>();
+		List<Integer> lines = new ArrayList<>(), chars = new ArrayList<>();
+		offsets.add(start);
+		lines.add(0);
+		chars.add(0);
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			for(int k = 0; ; known = index.awaitCheckpoints(known)) {
+				int published = offsets.size();
+				boolean finished = index.isReady() || index.checkpoint(known - 1) >= end;
+				for(; k < known; k++) {
+					long offset = index.checkpoint(k);
+					if(offset <= start || offset >= end)
+						continue;
+					long from = offsets.get(offsets.size() - 1);
+					offsets.add(offset);
+					lines.add((int)((long)k * LineIndex.STRIDE - firstLine));
+					chars.add(chars.get(chars.size() - 1) + blockChars(channel, index, utf8, singleByte, from, offset));
+				}
+				if(finished) { //   -    
+					long from = offsets.get(offsets.size() - 1);
+					offsets.add(end);
+					lines.add((int)(index.lineOf(end) - firstLine));
+					chars.add(chars.get(chars.size() - 1) + blockChars(channel, index, utf8, singleByte, from, end));
+				}
+				if(offsets.size() > published) {
+					publish(offsets, lines, chars, ui);
+					if(!finished)
+						Thread.sleep(PUBLISH_INTERVAL); //        
+				}
+				if(finished)
+					return;
+			}
+		}
+	}
+
+	/** @return    [from, to) */
+	private int blockChars(FileChannel channel, LineIndex index, boolean utf8, boolean singleByte, long from, long to) throws IOException {
+		if(Thread.currentThread().isInterrupted())
+			throw new InterruptedIOException();
+		if(singleByte)
+			return (int)(to - from);
+		long before = utf8 ? index.utf8CharsBefore(from) : -1, after = utf8 ? index.utf8CharsBefore(to) : -1;
+		return (before >= 0 && after >= 0) ? (int)(after - before) : countChars(channel, from, to - from);
+	}
+
+	/**
+	 *      : StyledText     ,
+	 *     .     -  :
+	 *        
+	 */
+	private void publish(List<Long> offsets, List<Integer> lines, List<Integer> chars, Executor ui) {
+		int n = offsets.size();
+		long[] newOffsets = new long[n];
+		int[] newLines = new int[n], newChars = new int[n];
+		for(int i = 0; i < n; i++) {
+			newOffsets[i] = offsets.get(i);
+			newLines[i] = lines.get(i);
+			newChars[i] = chars.get(i);
+		}
+		newLines[n - 1]++;
+		ui.execute(() -> {
+			if(cleared)
+				return;
+			TextChangingEvent changing = new TextChangingEvent(this);
+			changing.start = getCharCount();
+			changing.newCharCount = newChars[n - 1] - getCharCount();
+			changing.newLineCount = newLines[n - 1] - getLineCount();
+			for(TextChangeListener listener : new ArrayList<>(listeners))
+				listener.textChanging(changing);
+			blocks.remove(blockOffsets.length - 2); //        
+			blockOffsets = newOffsets;
+			blockLines = newLines;
+			blockChars = newChars;
+			for(TextChangeListener listener : new ArrayList<>(listeners))
+				listener.textChanged(new TextChangedEvent(this));
+		});
+	}
+
+	/** @return        */
+	private int countChars(FileChannel channel, long offset, long length) throws IOException {
+		if(length == 0)
+			return 0;
+		CharsetDecoder decoder = newDecoder();
+		CharBuffer chars = CharBuffer.allocate(DECODE_CHUNK);
+		int count = 0;
+		try(MappedRegion region = MappedRegion.map(channel, offset, length)) {
+			ByteBuffer bytes = region.buffer();
+			while(true) {
+				decoder.decode(bytes, chars, true);
+				count += chars.position();
+				chars.clear();
+				if(!bytes.hasRemaining())
+					break;
+			}
+		}
+		while(!decoder.flush(chars).isUnderflow()) {
+			count += chars.position();
+			chars.clear();
+		}
+		return count + chars.position();
+	}
+
+	private CharsetDecoder newDecoder() {
+		return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/** @return   (    ) */
+	private Block block(int i) {
+		Block block = blocks.get(i);
+		if(block != null)
+			return block;
+		int chars = blockChars[i + 1] - blockChars[i];
+		String text;
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			MappedRegion region = MappedRegion.map(channel, blockOffsets[i], blockOffsets[i + 1] - blockOffsets[i])) {
+			text = newDecoder().decode(region.buffer()).toString();
+		} catch(IOException e) {
+			text = "";
+		}
+		if(text.length() != chars) { //     -  ,    
+			char[] fitted = Arrays.copyOf(text.toCharArray(), chars);
+			Arrays.fill(fitted, Math.min(text.length(), chars), chars, ' ');
+			text = new String(fitted);
+		}
+		int[] lineStarts = new int[blockLines[i + 1] - blockLines[i]];
+		for(int line = 1, pos = 0; line < lineStarts.length; line++) {
+			int newline = text.indexOf('\n', pos);
+			pos = (newline < 0) ? text.length() : newline + 1;
+			lineStarts[line] = pos;
+		}
+		block = new Block(text, lineStarts);
+		blocks.put(i, block);
+		return block;
+	}
+
+	/** @return  ,     (   ) */
+	private int blockOf(int[] table, int value) {
+		int i = Arrays.binarySearch(table, 0, table.length - 1, value);
+		if(i < 0)
+			i = -i - 2;
+		while(i + 1 < table.length - 1 && table[i + 1] == value) //   
+			i++;
+		return Math.max(i, 0);
+	}
+
+	@Override
+	public String getLine(int lineIndex) {
+		int i = blockOf(blockLines, lineIndex);
+		Block block = block(i);
+		int line = lineIndex - blockLines[i];
+		int lineStart = block.lineStarts[line];
+		int lineEnd = (line + 1 < block.lineStarts.length) ? block.lineStarts[line + 1] : block.text.length();
+		if(lineEnd > lineStart && block.text.charAt(lineEnd - 1) == '\n')
+			lineEnd--;
+		if(lineEnd > lineStart && block.text.charAt(lineEnd - 1) == '\r') // \r\n -   
+			lineEnd--;
+		return block.text.substring(lineStart, lineEnd);
+	}
+
+	@Override
+	public int getLineAtOffset(int offset) {
+		int i = blockOf(blockChars, offset);
+		int[] lineStarts = block(i).lineStarts;
+		int line = Arrays.binarySearch(lineStarts, offset - blockChars[i]);
+		if(line < 0)
+			line = -line - 2;
+		while(line + 1 < lineStarts.length && lineStarts[line + 1] == offset - blockChars[i])
+			line++;
+		return blockLines[i] + line;
+	}
+
+	@Override
+	public int getOffsetAtLine(int lineIndex) {
+		int i = blockOf(blockLines, lineIndex);
+		return blockChars[i] + block(i).lineStarts[lineIndex - blockLines[i]];
+	}
+
+	@Override
+	public String getTextRange(int start, int length) {
+		StringBuilder range = new StringBuilder(length);
+		for(int pos = start, to = start + length; pos < to; ) {
+			int i = blockOf(blockChars, pos);
+			String text = block(i).text;
+			int from = pos - blockChars[i], until = Math.min(text.length(), to - blockChars[i]);
+			if(from >= until)
+				break;
+			range.append(text, from, until);
+			pos += until - from;
+		}
+		return range.toString();
+	}
+
+	@Override
+	public int getCharCount() {
+		return blockChars[blockChars.length - 1];
+	}
+
+	@Override
+	public int getLineCount() {
+		return blockLines[blockLines.length - 1];
+	}
+
+	@Override
+	public String getLineDelimiter() {
+		return "\n";
+	}
+
+	@Override
+	public void addTextChangeListener(TextChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeTextChangeListener(TextChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**      */
+	@Override
+	public void replaceTextRange(int start, int replaceLength, String text) {
+		throw new UnsupportedOperationException("    ");
+	}
+
+	/**     :        */
+	@Override
+	public void setText(String text) {
+		cleared = true;
+		blocks.clear();
+		blockOffsets = new long[] {start, start};
+		blockLines = new int[] {0, 1};
+		blockChars = new int[] {0, 0};
+		for(TextChangeListener listener : new ArrayList<>(listeners))
+			listener.textSet(new TextChangedEvent(this));
+	}
+}
@@ -0,0 +1,32 @@
+import java.nio.ByteBuffer;
+
+/**
+ *   .       
+ *   ByteMatcher.
+ */
+public class NaiveMatcher implements ByteMatcher {
+	/**     */
+	private final byte[] pattern;
+
+	public NaiveMatcher(byte[] pattern) {
+		this.pattern = pattern.clone();
+	}
+
+	@Override
+	public int indexOf(ByteBuffer buffer, int from, int to) {
+		int last = to - pattern.length; //  ,     
+		for(int i = from; i <= last; i++) {
+			int j = 0;
+			while(j < pattern.length && buffer.get(i + j) == pattern[j])
+				j++;
+			if(j == pattern.length)
+				return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public int length() {
+		return pattern.length;
+	}
+}
@@ -0,0 +1,95 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ *      .
+ *        varint (7   ),
+ *        1-2   16+    Long.
+ */
+public class OffsetList {
+	/**   */
+	private byte[] data = new byte[16];
+	/**    data  */
+	private int used = 0;
+	/**   */
+	private int count = 0;
+	/**    */
+	private long last = 0;
+
+	/**
+	 *   
+	 * @param offset ,    
+	 */
+	public void add(long offset) {
+		if(offset < last)
+			throw new IllegalArgumentException("    : " + offset + " < " + last);
+		long delta = offset - last;
+		if(used + 10 > data.length) // varint  long    10 
+			data = Arrays.copyOf(data, data.length * 2);
+		while((delta & ~0x7FL) != 0) {
+			data[used++] = (byte)((delta & 0x7F) | 0x80);
+			delta >>>= 7;
+		}
+		data[used++] = (byte)delta;
+		last = offset;
+		count++;
+	}
+
+	/** @return   */
+	public int size() {
+		return count;
+	}
+
+	/** @return    */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/** @return    -1,    */
+	public long first() {
+		return isEmpty() ? -1 : iterator().nextLong();
+	}
+
+	/** @return    -1,    */
+	public long last() {
+		return isEmpty() ? -1 : last;
+	}
+
+	/** @return      */
+	public int encodedBytes() {
+		return used;
+	}
+
+	/** @return       */
+	public PrimitiveIterator.OfLong iterator() {
+		final byte[] bytes = data; //     ,   
+		final int end = used, total = count;
+		return new PrimitiveIterator.OfLong() {
+			private int pos = 0, index = 0;
+			private long value = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < total && pos < end;
+			}
+
+			@Override
+			public long nextLong() {
+				if(!hasNext())
+					throw new NoSuchElementException();
+				long delta = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = bytes[pos++];
+					delta |= (long)(b & 0x7F) << shift;
+					shift += 7;
+				} while((b & 0x80) != 0);
+				value += delta;
+				index++;
+				return value;
+			}
+		};
+	}
+}
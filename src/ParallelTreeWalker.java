@@ -0,0 +1,271 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ *      fork/join:   -  , 
+ *  ,          .
+ *     ,    Files.walkFileTree    ,  ,
+ *     (    ),      
+ *   ,     .
+ * SKIP_SIBLINGS    ,      .
+ *  fork/join         (Java 21+):  
+ *        -,    
+ *   .
+ */
+public class ParallelTreeWalker {
+	/**  */
+	private final FileVisitor<Path> visitor;
+	/**    fork/join (null -    ) */
+	private final ForkJoinPool pool;
+	/**    ,     (null -   fork/join) */
+	private final ExecutorService virtualExecutor;
+	/**        (null -   ) */
+	private final Semaphore listings;
+	/**    (TERMINATE  shutdownNow) */
+	private volatile boolean terminated = false;
+
+	/**     */
+	private class DirectoryTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final Path directory;
+		private final BasicFileAttributes attr;
+
+		DirectoryTask(Path directory, BasicFileAttributes attr) {
+			this.directory = directory;
+			this.attr = attr;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				walkDirectory(directory, attr);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**    :   ,    */
+	private void walkDirectory(Path directory, BasicFileAttributes attr) throws IOException {
+		if(terminated || !acquireListing())
+			return;
+		List<Future<Void>> subdirectories = new ArrayList<>();
+		IOException failure = null;
+		DirectoryStream<Path> entries;
+		try {
+			entries = Files.newDirectoryStream(directory);
+		} catch(IOException e) { //    -   walkFileTree,   
+			releaseListing();
+			stopOn(visitor.visitFileFailed(directory, e));
+			return;
+		}
+		try {
+			FileVisitResult result = visitor.preVisitDirectory(directory, attr);
+			if(result != FileVisitResult.CONTINUE) {
+				stopOn(result);
+				return;
+			}
+			for(Path entry : entries) {
+				if(terminated)
+					break;
+				BasicFileAttributes entryAttr;
+				try {
+					entryAttr = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+				} catch(IOException e) {
+					if(stopOn(visitor.visitFileFailed(entry, e)))
+						break;
+					continue;
+				}
+				if(entryAttr.isDirectory()) { //      
+					Future<Void> task = fork(entry, entryAttr);
+					if(task == null)
+						break;
+					subdirectories.add(task);
+				}
+				else if(stopOn(visitor.visitFile(entry, entryAttr)))
+					break;
+			}
+		} catch(DirectoryIteratorException e) {
+			failure = e.getCause();
+		} finally {
+			try {
+				entries.close();
+			} finally {
+				releaseListing(); //  ,     
+			}
+		}
+		for(Future<Void> task : subdirectories)
+			join(task);
+		if(!terminated)
+			stopOn(visitor.postVisitDirectory(directory, failure));
+	}
+
+	/**
+	 *    
+	 * @return    null,    
+	 */
+	private Future<Void> fork(Path directory, BasicFileAttributes attr) {
+		if(virtualExecutor == null)
+			return new DirectoryTask(directory, attr).fork();
+		try {
+			return virtualExecutor.submit(() -> {
+				walkDirectory(directory, attr);
+				return null;
+			});
+		} catch(RejectedExecutionException e) { //    shutdownNow
+			return null;
+		}
+	}
+
+	/**    :     */
+	private void join(Future<Void> task) throws IOException {
+		if(task instanceof ForkJoinTask) { //  fork/join,  ,   
+			((ForkJoinTask<Void>)task).join();
+			return;
+		}
+		try {
+			task.get(); //   ,   
+		} catch(InterruptedException e) { //    shutdownNow
+			terminated = true;
+			Thread.currentThread().interrupt();
+		} catch(ExecutionException e) {
+			rethrow(e.getCause());
+		}
+	}
+
+	/** @return      ( fork/join   ) */
+	private boolean acquireListing() {
+		if(listings == null)
+			return true;
+		try {
+			listings.acquire();
+			return true;
+		} catch(InterruptedException e) { //    shutdownNow
+			terminated = true;
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void releaseListing() {
+		if(listings != null)
+			listings.release();
+	}
+
+	/**        */
+	private static void rethrow(Throwable cause) throws IOException {
+		if(cause instanceof UncheckedIOException)
+			throw ((UncheckedIOException)cause).getCause();
+		if(cause instanceof IOException)
+			throw (IOException)cause;
+		if(cause instanceof RuntimeException)
+			throw (RuntimeException)cause;
+		if(cause instanceof Error)
+			throw (Error)cause;
+		throw new IOException(cause);
+	}
+
+	/**
+	 * @param visitor  (   )
+	 * @param parallelism   
+	 */
+	public ParallelTreeWalker(FileVisitor<Path> visitor, int parallelism) {
+		this(visitor, parallelism, false);
+	}
+
+	/**
+	 * @param visitor  (   )
+	 * @param parallelism   ,     -    
+	 * @param virtual        
+	 * @throws UnsupportedOperationException    ,  JVM   
+	 */
+	public ParallelTreeWalker(FileVisitor<Path> visitor, int parallelism, boolean virtual) {
+		this.visitor = visitor;
+		if(virtual) {
+			virtualExecutor = VirtualScanScheduler.newVirtualExecutor();
+			if(virtualExecutor == null)
+				throw new UnsupportedOperationException("    JVM " + System.getProperty("java.version"));
+			listings = new Semaphore(Math.max(parallelism, 1));
+			pool = null;
+		}
+		else {
+			pool = new ForkJoinPool(Math.max(parallelism, 1));
+			virtualExecutor = null;
+			listings = null;
+		}
+	}
+
+	/**
+	 *   .  ,    
+	 * @param start  
+	 * @throws IOException ,  
+	 * @throws InterruptedException      ;    
+	 */
+	public void walk(Path start) throws IOException, InterruptedException {
+		try {
+			BasicFileAttributes attr;
+			try {
+				attr = Files.readAttributes(start, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+			} catch(IOException e) {
+				visitor.visitFileFailed(start, e);
+				return;
+			}
+			if(!attr.isDirectory()) {
+				visitor.visitFile(start, attr);
+				return;
+			}
+			Future<Void> task = (pool != null) ? pool.submit(new DirectoryTask(start, attr)) : fork(start, attr);
+			if(task == null)
+				return;
+			try {
+				task.get();
+			} catch(ExecutionException e) {
+				if(e.getCause() instanceof CancellationException) //     
+					return;
+				rethrow(e.getCause());
+			} catch(CancellationException e) {
+				//    shutdownNow
+			}
+		} finally {
+			shutdownNow();
+		}
+	}
+
+	/**   :    ,    */
+	public void shutdownNow() {
+		terminated = true;
+		if(pool != null)
+			pool.shutdownNow();
+		else
+			virtualExecutor.shutdownNow();
+	}
+
+	/**
+	 * @param result  
+	 * @return      
+	 */
+	private boolean stopOn(FileVisitResult result) {
+		if(result == FileVisitResult.TERMINATE)
+			terminated = true;
+		return result == FileVisitResult.TERMINATE || result == FileVisitResult.SKIP_SIBLINGS;
+	}
+}
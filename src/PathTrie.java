@@ -0,0 +1,110 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *     -    .      
+ *  -,        ,     
+ *  Path,     .      :
+ *         .
+ */
+public class PathTrie {
+	/**  :  ,     */
+	public static class Node {
+		/**    */
+		public final String name;
+		/**   (null -  ) */
+		public final Node parent;
+		/**   (null - ) */
+		public final FindedFile file;
+		/**     */
+		private final List<Node> children = new ArrayList<>(1);
+		/**     (   ) */
+		private Map<String, Node> directories;
+
+		Node(String name, Node parent, FindedFile file) {
+			this.name = name;
+			this.parent = parent;
+			this.file = file;
+		}
+
+		/** @return   */
+		public int childCount() {
+			return children.size();
+		}
+
+		/** @return    index    */
+		public Node child(int index) {
+			return children.get(index);
+		}
+
+		/** @return      */
+		public boolean isFile() {
+			return file != null;
+		}
+
+		/** @return     name (,   ) */
+		private Node directory(String name) {
+			if(directories == null)
+				directories = new HashMap<>();
+			Node directory = directories.get(name);
+			if(directory == null) {
+				directory = new Node(name, this, null);
+				directories.put(name, directory);
+				children.add(directory);
+			}
+			return directory;
+		}
+	}
+
+	/**  ,   -   */
+	private final Node root = new Node("", null, null);
+	/**    */
+	private int fileCount = 0;
+
+	/** @return   */
+	public Node root() {
+		return root;
+	}
+
+	/** @return    */
+	public int fileCount() {
+		return fileCount;
+	}
+
+	/**
+	 *    .      
+	 * (      ) -     
+	 * @param findedFile  
+	 * @return   ,     :     
+	 */
+	public Node add(FindedFile findedFile) {
+		Path path = findedFile.pathToFile;
+		List<String> directories = new ArrayList<>(path.getNameCount());
+		if(path.getRoot() != null)
+			directories.add(path.getRoot().toString());
+		for(int i = 0; i < path.getNameCount() - 1; i++)
+			directories.add(path.getName(i).toString());
+		Node node = root, changed = null;
+		for(String name : directories) {
+			int count = node.childCount();
+			Node directory = node.directory(name);
+			if(changed == null && node.childCount() != count) //   
+				changed = node;
+			node = directory;
+		}
+		Path fileName = path.getFileName();
+		node.children.add(new Node(fileName != null ? fileName.toString() : path.toString(), node, findedFile));
+		fileCount++;
+		return (changed != null) ? changed : node;
+	}
+
+	/**    */
+	public void clear() {
+		root.children.clear();
+		root.directories = null;
+		fileCount = 0;
+	}
+}
@@ -0,0 +1,447 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ *          .
+ *     ,    ;    
+ *       ,    
+ *   ,    . ,    grep,    .
+ */
+public class RegexSearcher {
+	/**   ,    */
+	private static final int WINDOW_SIZE = 64 << 20;
+
+	/**   */
+	private final Pattern pattern;
+	/**    */
+	private final Charset charset;
+	/**    null,        */
+	private final String literal;
+	/**    */
+	private final ByteMatcher literalMatcher;
+	/**  : -,  ,   */
+	private final AtomicLong candidateLines = new AtomicLong(), matchedLines = new AtomicLong(), scannedBytes = new AtomicLong();
+	/**  :    (null -  ) */
+	private final SearchMetrics metrics;
+
+	/**
+	 * @param regex  
+	 * @param charset  
+	 * @param ignoreCase      ( ,   )
+	 * @param metrics  ,      ,  null
+	 * @throws java.util.regex.PatternSyntaxException   
+	 */
+	public RegexSearcher(String regex, Charset charset, boolean ignoreCase, SearchMetrics metrics) {
+		this(regex, charset, ignoreCase, true, metrics);
+	}
+
+	/**
+	 * @param regex  
+	 * @param charset  
+	 * @param ignoreCase      ( ,   )
+	 * @param prefilter       (false -     ,  )
+	 * @param metrics  ,      ,  null
+	 * @throws java.util.regex.PatternSyntaxException   
+	 */
+	public RegexSearcher(String regex, Charset charset, boolean ignoreCase, boolean prefilter, SearchMetrics metrics) {
+		this.metrics = metrics;
+		this.pattern = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+		this.charset = charset;
+		String longest = null;
+		for(String fragment : prefilter ? requiredLiterals(regex) : new ArrayList<String>())
+			if(longest == null || fragment.length() > longest.length())
+				longest = fragment;
+		literal = longest;
+		//          
+		literalMatcher = (literal == null) ? null : new EncodedPattern(literal, charset, ignoreCase).matcher(charset);
+	}
+
+	/** @return  ,    ,  null */
+	public String getLiteral() {
+		return literal;
+	}
+
+	/**
+	 *    
+	 * @param channel  
+	 * @param from     (   )
+	 * @param reportFrom ,     ,   (  )
+	 * @param hits     (null -   )
+	 * @param maxHits     
+	 * @return    (    )  -1,   
+	 */
+	public long search(FileChannel channel, long from, long reportFrom, OffsetList hits, int maxHits) throws IOException {
+		return search(channel, from, reportFrom, hits, maxHits, null);
+	}
+
+	/**
+	 *       -:     
+	 * @param channel  
+	 * @param from     (   )
+	 * @param reportFrom ,     ,   (  )
+	 * @param hits     (null -   )
+	 * @param maxHits     
+	 * @param io    : ,   ,  null,    (null -  )
+	 * @return    (    )  -1,   
+	 */
+	public long search(FileChannel channel, long from, long reportFrom, OffsetList hits, int maxHits, Supplier<IoLimiter> io) throws IOException {
+		long fileSize = channel.size();
+		long firstPos = -1;
+		long windowStart = from;
+		while(windowStart < fileSize && !Thread.currentThread().isInterrupted()) {
+			long windowEnd = Math.min(windowStart + WINDOW_SIZE, fileSize);
+			int complete;
+			long pos;
+			IoLimiter limiter = (io == null) ? null : io.get(); //      
+			if(io != null && limiter == null)
+				break;
+			try(MappedRegion region = MappedRegion.map(channel, windowStart, windowEnd - windowStart)) { //   
+				MappedByteBuffer buffer = region.buffer();
+				buffer.order(ByteOrder.LITTLE_ENDIAN);
+				int limit = buffer.limit();
+				//        
+				complete = (windowEnd == fileSize) ? limit : lastLineStart(buffer, limit);
+				if(complete == 0) //    -     
+					complete = limit;
+				if(metrics != null)
+					metrics.mapped(limit);
+				try {
+					pos = searchWindow(buffer, complete, windowStart, reportFrom, hits, maxHits);
+				} finally {
+					if(metrics != null) {
+						metrics.unmapped(limit);
+						metrics.scanned(complete);
+					}
+				}
+			} finally {
+				if(limiter != null)
+					limiter.release();
+			}
+			if(firstPos == -1)
+				firstPos = pos;
+			if(pos != -1 && (hits == null || hits.size() >= maxHits))
+				return firstPos;
+			windowStart += complete;
+		}
+		return firstPos;
+	}
+
+	/**
+	 *       
+	 * @param buffer  
+	 * @param complete       
+	 * @param windowStart     
+	 * @param reportFrom ,     ,  
+	 * @param hits     (null -   )
+	 * @param maxHits     
+	 * @return    (   )      -1
+	 */
+	long searchWindow(ByteBuffer buffer, int complete, long windowStart, long reportFrom, OffsetList hits, int maxHits) {
+		scannedBytes.addAndGet(complete);
+		long firstPos = -1;
+		int pos = 0;
+		while(pos < complete) {
+			int candidate = (literalMatcher == null) ? pos : literalMatcher.indexOf(buffer, pos, complete);
+			if(candidate == -1)
+				break;
+			int lineStart = candidate, lineEnd = candidate;
+			while(lineStart > pos && buffer.get(lineStart - 1) != '\n')
+				lineStart--;
+			while(lineEnd < complete && buffer.get(lineEnd) != '\n')
+				lineEnd++;
+			candidateLines.incrementAndGet();
+			long lineOffset = windowStart + lineStart;
+			String line = decodeLine(buffer, lineStart, lineEnd);
+			Matcher m = pattern.matcher(line);
+			boolean lineMatched = false;
+			while(m.find()) {
+				long start = lineOffset + byteLength(line, 0, m.start());
+				long end = start + byteLength(line, m.start(), m.end());
+				if(start < reportFrom && end <= reportFrom) //      
+					continue;
+				if(!lineMatched) {
+					lineMatched = true;
+					matchedLines.incrementAndGet();
+				}
+				if(hits == null)
+					return start + 1;
+				if(firstPos == -1)
+					firstPos = start + 1;
+				hits.add(start + 1);
+				if(hits.size() >= maxHits)
+					return firstPos;
+			}
+			pos = lineEnd + 1;
+		}
+		return firstPos;
+	}
+
+
+	/**
+	 *    ,  
+	 * @param channel  
+	 * @param pos   
+	 * @return    (  WINDOW_SIZE )
+	 */
+	public static long lineStartBefore(FileChannel channel, long pos) throws IOException {
+		long from = Math.max(pos - WINDOW_SIZE, 0);
+		if(pos == 0)
+			return 0;
+		try(MappedRegion region = MappedRegion.map(channel, from, pos - from)) {
+			MappedByteBuffer buffer = region.buffer();
+			for(int i = buffer.limit() - 1; i >= 0; i--)
+				if(buffer.get(i) == '\n')
+					return from + i + 1;
+			return from;
+		}
+	}
+
+	/** @return     */
+	public String getStats() {
+		long candidates = candidateLines.get();
+		return " : " + (literal == null ? " " : " \"" + literal + "\"") +
+				", - " + candidates + ",  " + matchedLines.get() +
+				(candidates > 0 ? " (" + matchedLines.get() * 100 / candidates + "%)" : "") +
+				",  " + scannedBytes.get() / (1 << 20) + " ";
+	}
+
+	/**
+	 *   ,       .
+	 *  :    ,  ,  
+	 * @param regex  
+	 * @return   (,  )
+	 */
+	static List<String> requiredLiterals(String regex) {
+		List<String> literals = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		int i = 0, n = regex.length();
+		while(i < n) {
+			char c = regex.charAt(i);
+			switch(c) {
+				case '\\':
+					if(i + 1 >= n)
+						return new ArrayList<>();
+					char next = regex.charAt(i + 1);
+					if(next == 'Q') { // \Q...\E -   
+						int end = regex.indexOf("\\E", i + 2);
+						if(end == -1)
+							end = n;
+						current.append(regex, i + 2, end);
+						i = Math.min(end + 2, n);
+						continue;
+					}
+					if(Character.isLetterOrDigit(next)) { //  , ,  ,  
+						flush(literals, current);
+						int end = skipEscape(regex, i);
+						if(end == -1)
+							return new ArrayList<>();
+						i = skipQuantifier(regex, end, null, null);
+					}
+					else { //   
+						current.append(next);
+						i += 2;
+					}
+					break;
+				case '(': case '[': { //      
+					if(c == '(' && regex.startsWith("(?", i) && i + 2 < n && Character.isLetter(regex.charAt(i + 2)))
+						return new ArrayList<>(); //    (?i)  
+					int end = skipBracket(regex, i);
+					if(end == -1)
+						return new ArrayList<>();
+					flush(literals, current);
+					i = end;
+					i = skipQuantifier(regex, i, null, null);
+					break;
+				}
+				case '|': //  -   
+					return new ArrayList<>();
+				case '.': case '^': case '$':
+					flush(literals, current);
+					i++;
+					i = skipQuantifier(regex, i, null, null);
+					break;
+				case '*': case '?': case '+': case '{':
+					i = skipQuantifier(regex, i, current, literals);
+					break;
+				default:
+					current.append(c);
+					i++;
+			}
+		}
+		flush(literals, current);
+		return literals;
+	}
+
+	/**
+	 *    .    -   ,
+	 *       ,       
+	 * @return   
+	 */
+	private static int skipQuantifier(String regex, int i, StringBuilder current, List<String> literals) {
+		if(i >= regex.length())
+			return i;
+		char c = regex.charAt(i);
+		boolean optional;
+		int end;
+		if(c == '*' || c == '?') {
+			optional = true;
+			end = i + 1;
+		}
+		else if(c == '+') {
+			optional = false;
+			end = i + 1;
+		}
+		else if(c == '{') {
+			end = regex.indexOf('}', i);
+			if(end == -1)
+				return i + 1;
+			String min = regex.substring(i + 1, end).split(",", -1)[0].trim();
+			optional = min.isEmpty() || min.equals("0");
+			end++;
+		}
+		else
+			return i;
+		if(end < regex.length() && (regex.charAt(end) == '?' || regex.charAt(end) == '+')) //    
+			end++;
+		if(current != null && current.length() > 0) {
+			char last = current.charAt(current.length() - 1);
+			current.setLength(current.length() - 1);
+			if(!optional)
+				current.append(last);
+			flush(literals, current);
+		}
+		return end;
+	}
+
+	/**
+	 *           
+	 * (\xhh,    u, \0nnn, \cX,    k, \N{name}, \p{Name},   ).
+	 *   -   :      
+	 * @param i    
+	 * @return     -1,    
+	 */
+	private static int skipEscape(String regex, int i) {
+		int n = regex.length(), end = i + 2;
+		char next = regex.charAt(i + 1);
+		switch(next) {
+			case 'p': case 'P': case 'N': case 'x': case 'b': // \p{Name}, \N{name}, \x{h...h}, \b{g}
+				if(end < n && regex.charAt(end) == '{') {
+					int close = regex.indexOf('}', end);
+					return close == -1 ? -1 : close + 1;
+				}
+				if(next == 'p' || next == 'P') // \pL
+					end++;
+				else if(next == 'x')
+					end += 2;
+				else if(next == 'N')
+					return -1;
+				break;
+			case 'u':
+				end += 4;
+				break;
+			case 'c':
+				end++;
+				break;
+			case 'k': { // \k<name>
+				if(end >= n || regex.charAt(end) != '<')
+					return -1;
+				int close = regex.indexOf('>', end);
+				return close == -1 ? -1 : close + 1;
+			}
+			case '0': //    
+				while(end < n && end < i + 5 && regex.charAt(end) >= '0' && regex.charAt(end) <= '7')
+					end++;
+				break;
+			default:
+				if(next >= '1' && next <= '9') //  :    ,     
+					while(end < n && Character.isDigit(regex.charAt(end)))
+						end++;
+		}
+		return end <= n ? end : -1;
+	}
+
+	/** @return         ,  -1 */
+	private static int skipBracket(String regex, int i) {
+		if(regex.charAt(i) == '[')
+			return skipClass(regex, i);
+		int depth = 0;
+		for(int j = i; j < regex.length(); j++) {
+			char c = regex.charAt(j);
+			if(c == '\\')
+				j++;
+			else if(c == '[') { //     -  
+				j = skipClass(regex, j);
+				if(j == -1)
+					return -1;
+				j--;
+			}
+			else if(c == '(')
+				depth++;
+			else if(c == ')' && --depth == 0)
+				return j + 1;
+		}
+		return -1;
+	}
+
+	/** @return     [...],    i,  -1 */
+	private static int skipClass(String regex, int i) {
+		int j = i + 1, n = regex.length();
+		if(j < n && regex.charAt(j) == '^')
+			j++;
+		if(j < n && regex.charAt(j) == ']') // "]"    -  
+			j++;
+		for(; j < n; j++) {
+			char c = regex.charAt(j);
+			if(c == '\\')
+				j++;
+			else if(c == '[') { //  
+				j = skipClass(regex, j);
+				if(j == -1)
+					return -1;
+				j--;
+			}
+			else if(c == ']')
+				return j + 1;
+		}
+		return -1;
+	}
+
+	private static void flush(List<String> literals, StringBuilder current) {
+		if(current.length() > 0)
+			literals.add(current.toString());
+		current.setLength(0);
+	}
+
+	/** @return         0 */
+	static int lastLineStart(ByteBuffer buffer, int limit) {
+		for(int i = limit - 1; i >= 0; i--)
+			if(buffer.get(i) == '\n')
+				return i + 1;
+		return 0;
+	}
+
+	/**      \r */
+	private String decodeLine(ByteBuffer buffer, int start, int end) {
+		if(end > start && buffer.get(end - 1) == '\r')
+			end--;
+		byte[] bytes = new byte[end - start];
+		for(int i = 0; i < bytes.length; i++)
+			bytes[i] = buffer.get(start + i);
+		return new String(bytes, charset);
+	}
+
+	/** @return        */
+	private int byteLength(String line, int from, int to) {
+		return line.substring(from, to).getBytes(charset).length;
+	}
+}
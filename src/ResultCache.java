@@ -0,0 +1,287 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *          .    
+ * (   )    (, ,  ,     ):
+ *          ,  ,   ,
+ *   ,     .     ,
+ *     ;     ~/.findtextinlogs/results.
+ */
+public class ResultCache {
+	/**      */
+	private static final int MAGIC = 0x46545243, VERSION = 1;
+	/**       */
+	private static final long MAX_BYTES = 64L << 20;
+	/**    */
+	private static ResultCache shared;
+
+	/**     */
+	public static class Entry {
+		/**     ,     */
+		final long size, modified;
+		/**      ("null",   ) */
+		final String fileKey;
+		/**    ,   ,     */
+		final long fingerprint;
+		/**   ( -   ) */
+		final List<FindedFile> results;
+		/**      */
+		final long weight;
+
+		Entry(long size, long modified, String fileKey, long fingerprint, List<FindedFile> results) {
+			this.size = size;
+			this.modified = modified;
+			this.fileKey = fileKey;
+			this.fingerprint = fingerprint;
+			this.results = results;
+			long bytes = 96;
+			for(FindedFile findedFile : results)
+				bytes += 64 + (findedFile.offsets == null ? 0 : findedFile.offsets.encodedBytes());
+			weight = bytes;
+		}
+
+		/** @return         */
+		public boolean isUnchanged(BasicFileAttributes attr) {
+			return size == attr.size() && modified == attr.lastModifiedTime().toMillis();
+		}
+	}
+
+	/** ,     (null -   ) */
+	private final Path cacheFile;
+	/**     ,    */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+	/**     */
+	private long bytes = 0;
+	/**      */
+	private boolean dirty = false;
+	/**   :   ,  ,   */
+	private final AtomicLong hits = new AtomicLong(), appended = new AtomicLong(), misses = new AtomicLong();
+
+	private ResultCache(Path cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 *    .        
+	 * @param persistent     
+	 * @return  
+	 */
+	public static synchronized ResultCache get(boolean persistent) {
+		if(shared == null || (persistent && shared.cacheFile == null)) {
+			Path file = persistent ? Paths.get(System.getProperty("user.home"), ".findtextinlogs", "results") : null;
+			ResultCache cache = new ResultCache(file);
+			try {
+				cache.load();
+			} catch(IOException e) { //      
+				cache.entries.clear();
+			}
+			if(shared != null) { // ,   ,  
+				cache.entries.putAll(shared.entries);
+				cache.dirty = !shared.entries.isEmpty();
+			}
+			cache.bytes = 0;
+			for(Entry entry : cache.entries.values())
+				cache.bytes += entry.weight;
+			cache.evict();
+			shared = cache;
+		}
+		return shared;
+	}
+
+	/**
+	 *    : ,       
+	 * @param binaryPolicy     
+	 * @return  
+	 */
+	public static String queryKey(String[] patterns, boolean regex, boolean ignoreCase, String charset,
+								  boolean allOccurrences, int maxHitsPerFile, String binaryPolicy, String[] extensions) {
+		StringBuilder key = new StringBuilder();
+		key.append(regex ? 'E' : 'F').append(ignoreCase ? 'i' : 'c').append(allOccurrences ? 'a' : '1')
+			.append(maxHitsPerFile).append('\u0000').append(charset).append('\u0000').append(binaryPolicy);
+		for(String extension : extensions)
+			key.append('\u0000').append(extension);
+		key.append('\u0001');
+		for(String pattern : patterns)
+			key.append('\u0000').append(pattern);
+		return key.toString();
+	}
+
+	/**      */
+	public void resetStats() {
+		hits.set(0);
+		appended.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 *    .         ,
+	 *  -   (countScan)
+	 * @param query  
+	 * @param path   
+	 * @param attr   
+	 * @return   ,  ,     (  ),  null
+	 */
+	public synchronized Entry lookup(String query, Path path, BasicFileAttributes attr) {
+		Entry entry = entries.get(key(query, path));
+		if(entry == null || !String.valueOf(attr.fileKey()).equals(entry.fileKey))
+			return null;
+		if(entry.isUnchanged(attr)) {
+			hits.incrementAndGet();
+			return entry;
+		}
+		return (entry.size < attr.size()) ? entry : null;
+	}
+
+	/**
+	 *      
+	 * @param appendedOnly     
+	 */
+	public void countScan(boolean appendedOnly) {
+		(appendedOnly ? appended : misses).incrementAndGet();
+	}
+
+	/**
+	 *      
+	 * @param query  
+	 * @param path   
+	 * @param attr  ,    
+	 * @param fingerprint    
+	 * @param results   ( -   )
+	 */
+	public synchronized void put(String query, Path path, BasicFileAttributes attr, long fingerprint, List<FindedFile> results) {
+		Entry entry = new Entry(attr.size(), attr.lastModifiedTime().toMillis(), String.valueOf(attr.fileKey()), fingerprint,
+								Collections.unmodifiableList(new ArrayList<>(results)));
+		Entry old = entries.put(key(query, path), entry);
+		if(old != null)
+			bytes -= old.weight;
+		bytes += entry.weight;
+		dirty = true;
+		evict();
+	}
+
+	private static String key(String query, Path path) {
+		return query + '\u0002' + path.toAbsolutePath();
+	}
+
+	/**          */
+	private void evict() {
+		for(Iterator<Entry> it = entries.values().iterator(); bytes > MAX_BYTES && it.hasNext(); ) {
+			bytes -= it.next().weight;
+			it.remove();
+			dirty = true;
+		}
+	}
+
+	/** @return    :    ,     */
+	public String getStats() {
+		long hit = hits.get(), append = appended.get(), miss = misses.get(), total = Math.max(hit + append + miss, 1);
+		synchronized(this) {
+			return " :   " + hit + " (" + hit * 100 / total + "%),  " + append +
+					",   " + miss + ",  " + entries.size() + ", " + bytes / 1024 + " ";
+		}
+	}
+
+	/**   ,      */
+	public synchronized void save() throws IOException {
+		if(cacheFile == null || !dirty)
+			return;
+		Files.createDirectories(cacheFile.getParent());
+		Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(entries.size());
+			for(Map.Entry<String, Entry> e : entries.entrySet()) { //     
+				Entry entry = e.getValue();
+				writeString(out, e.getKey());
+				out.writeLong(entry.size);
+				out.writeLong(entry.modified);
+				writeString(out, entry.fileKey);
+				out.writeLong(entry.fingerprint);
+				out.writeInt(entry.results.size());
+				for(FindedFile findedFile : entry.results) {
+					writeString(out, findedFile.pathToFile.toString());
+					writeString(out, findedFile.entry);
+					writeString(out, findedFile.pattern);
+					out.writeLong(findedFile.offset);
+					out.writeBoolean(findedFile.truncated);
+					out.writeInt(findedFile.offsets == null ? -1 : findedFile.offsets.size());
+					if(findedFile.offsets != null)
+						for(PrimitiveIterator.OfLong it = findedFile.offsets.iterator(); it.hasNext(); )
+							out.writeLong(it.nextLong());
+				}
+			}
+		}
+		Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		dirty = false;
+	}
+
+	/**     */
+	private void load() throws IOException {
+		if(cacheFile == null || !Files.exists(cacheFile))
+			return;
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException("   " + cacheFile);
+			int count = in.readInt();
+			for(int i = 0; i < count; i++) {
+				String key = readString(in);
+				long size = in.readLong(), modified = in.readLong();
+				String fileKey = readString(in);
+				long fingerprint = in.readLong();
+				List<FindedFile> results = new ArrayList<>();
+				for(int r = in.readInt(); r > 0; r--) {
+					Path path = Paths.get(readString(in));
+					String entry = readString(in), pattern = readString(in);
+					long offset = in.readLong();
+					boolean truncated = in.readBoolean();
+					int offsets = in.readInt();
+					FindedFile findedFile;
+					if(offsets < 0)
+						findedFile = new FindedFile(path, offset);
+					else {
+						OffsetList hits = new OffsetList();
+						for(int o = 0; o < offsets; o++)
+							hits.add(in.readLong());
+						findedFile = new FindedFile(path, hits, truncated);
+					}
+					findedFile.entry = entry;
+					findedFile.pattern = pattern;
+					results.add(findedFile);
+				}
+				entries.put(key, new Entry(size, modified, fileKey, fingerprint, Collections.unmodifiableList(results)));
+			}
+		}
+	}
+
+	/**     (null -  -1) */
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		if(str == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if(length < 0)
+			return null;
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,75 @@
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *         (    CLI).
+ *  :    ,     ,
+ *      .         .
+ *      ,     .
+ */
+public class ResultChannel {
+	/**      */
+	public static final int CAPACITY = 4096;
+	/**    ,    ,     () */
+	private static final long PUT_RECHECK = 100;
+
+	/** ,     */
+	private final ArrayBlockingQueue<FindedFile> queue = new ArrayBlockingQueue<>(CAPACITY);
+	/**   :     */
+	private volatile boolean closed = false;
+
+	/**
+	 *    . ,     
+	 * @param findedFile  
+	 * @return    (false -  )
+	 */
+	public boolean put(FindedFile findedFile) throws InterruptedException {
+		while(!closed)
+			if(queue.offer(findedFile, PUT_RECHECK, TimeUnit.MILLISECONDS))
+				return true;
+		return false;
+	}
+
+	/**
+	 *    :      timeout,    
+	 * @param batch   
+	 * @param maxCount     
+	 * @param timeout     ()
+	 * @return   
+	 */
+	public int drain(Collection<? super FindedFile> batch, int maxCount, long timeout) throws InterruptedException {
+		if(maxCount <= 0)
+			return 0;
+		FindedFile first = queue.poll(timeout, TimeUnit.MILLISECONDS);
+		if(first == null)
+			return 0;
+		batch.add(first);
+		return 1 + queue.drainTo(batch, maxCount - 1);
+	}
+
+	/**   :     */
+	public void close() {
+		closed = true;
+	}
+
+	/** @return       */
+	public boolean isFinished() {
+		return closed && queue.isEmpty();
+	}
+
+	/** @return     */
+	public int size() {
+		return queue.size();
+	}
+
+	/** @return   ,   */
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/**     */
+	public void clear() {
+		queue.clear();
+	}
+}
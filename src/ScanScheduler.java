@@ -0,0 +1,27 @@
+/**
+ *       .
+ *     :    
+ *  awaitCompletion().
+ */
+public interface ScanScheduler {
+	/**
+	 *     .      , , 
+	 *   :        .
+	 *      ,     
+	 * @param size    
+	 * @param task    
+	 */
+	void submit(long size, Runnable task);
+
+	/**
+	 *     . ,      
+	 * @throws InterruptedException    
+	 */
+	void awaitCompletion() throws InterruptedException;
+
+	/** @return  ,   */
+	int pendingCount();
+
+	/**   :       */
+	void shutdownNow();
+}
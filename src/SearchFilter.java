@@ -0,0 +1,137 @@
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *    :    ,  ,     .
+ *      BasicFileAttributes  ,   ,   
+ *    (SKIP_SUBTREE).   '/'      ,
+ *   '/' -      (, "2023/**"  "app/old/*.log").
+ *      ,    .
+ */
+public class SearchFilter {
+	/**   */
+	private static class Glob {
+		final PathMatcher matcher;
+		/**       ,     */
+		final boolean wholePath;
+
+		Glob(String glob) {
+			matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+			wholePath = glob.indexOf('/') >= 0;
+		}
+
+		boolean matches(Path relative) {
+			Path name = relative.getFileName();
+			return matcher.matches(wholePath || name == null ? relative : name);
+		}
+	}
+
+	/**   ( -   ) */
+	private final List<Glob> includes = new ArrayList<>();
+	/**    */
+	private final List<Glob> excludes = new ArrayList<>();
+	/**    */
+	private final List<Glob> excludedDirectories = new ArrayList<>();
+	/**     ,  () */
+	public long minSize = 0, maxSize = Long.MAX_VALUE;
+	/**   ,   : [modifiedAfter, modifiedBefore) */
+	public long modifiedAfter = Long.MIN_VALUE, modifiedBefore = Long.MAX_VALUE;
+
+	/**
+	 * @param glob  ,   
+	 * @throws IllegalArgumentException     
+	 */
+	public SearchFilter include(String glob) {
+		includes.add(new Glob(glob));
+		return this;
+	}
+
+	/**
+	 * @param glob  ,    
+	 * @throws IllegalArgumentException     
+	 */
+	public SearchFilter exclude(String glob) {
+		excludes.add(new Glob(glob));
+		return this;
+	}
+
+	/**
+	 * @param glob  ,    
+	 * @throws IllegalArgumentException     
+	 */
+	public SearchFilter excludeDirectory(String glob) {
+		excludedDirectories.add(new Glob(glob));
+		return this;
+	}
+
+	/**
+	 *      ( ,      )
+	 * @param relative    
+	 * @return     
+	 */
+	public boolean acceptsName(Path relative) {
+		if(!includes.isEmpty() && !matchesAny(includes, relative))
+			return false;
+		return !matchesAny(excludes, relative);
+	}
+
+	/**
+	 *       ,   
+	 * @param relative    
+	 * @param attr  
+	 * @return    
+	 */
+	public boolean accepts(Path relative, BasicFileAttributes attr) {
+		long size = attr.size();
+		if(size < minSize || size > maxSize)
+			return false;
+		if(modifiedAfter != Long.MIN_VALUE || modifiedBefore != Long.MAX_VALUE) {
+			long modified = attr.lastModifiedTime().toMillis();
+			if(modified < modifiedAfter || modified >= modifiedBefore)
+				return false;
+		}
+		return acceptsName(relative);
+	}
+
+	/**
+	 * @param relative     
+	 * @return       
+	 */
+	public boolean excludesDirectory(Path relative) {
+		return matchesAny(excludedDirectories, relative);
+	}
+
+	private static boolean matchesAny(List<Glob> globs, Path relative) {
+		for(Glob glob : globs)
+			if(glob.matches(relative))
+				return true;
+		return false;
+	}
+
+	/**
+	 *     512k, 100m, 2g
+	 * @return   
+	 * @throws NumberFormatException     
+	 */
+	public static long parseSize(String size) {
+		char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+		int shift = (unit == 'k') ? 10 : (unit == 'm') ? 20 : (unit == 'g') ? 30 : 0;
+		return Long.parseLong(shift == 0 ? size : size.substring(0, size.length() - 1)) << shift;
+	}
+
+	/**
+	 *     30m, 24h, 7d (  - )
+	 * @return   
+	 * @throws NumberFormatException     
+	 */
+	public static long parseDuration(String duration) {
+		char unit = Character.toLowerCase(duration.charAt(duration.length() - 1));
+		long millis = (unit == 'm') ? 60_000 : (unit == 'h') ? 3_600_000 : (unit == 'd') ? 86_400_000 : 1000;
+		String number = Character.isDigit(unit) ? duration : duration.substring(0, duration.length() - 1);
+		return Long.parseLong(number) * millis;
+	}
+}
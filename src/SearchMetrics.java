@@ -0,0 +1,337 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ *  :      ,       ,
+ *      ,      ,  
+ *         .  - LongAdder,   
+ *             .  
+ *  (  , CLI)   JMX  FindTextInLogs:type=SearchMetrics
+ * (   -   session=).
+ */
+public class SearchMetrics implements SearchMetricsMBean {
+	/**  MBean */
+	public static final String OBJECT_NAME = "FindTextInLogs:type=SearchMetrics";
+	/**  :   i - ,   [2^i, 2^(i+1))  */
+	private static final int BUCKETS = 40;
+
+	/**       */
+	private final LongAdder filesFound = new LongAdder();
+	/** ,   */
+	private final LongAdder filesInProgress = new LongAdder();
+	/** ,    */
+	private final LongAdder filesDone = new LongAdder();
+	/**   (   - ) */
+	private final LongAdder bytesScanned = new LongAdder();
+	/**      ,  */
+	private final LongAdder scanNanos = new LongAdder();
+	/**         */
+	private final LongAdder mappedBytes = new LongAdder();
+	/**      - (  ),  */
+	private final LongAdder ioWaitNanos = new LongAdder();
+	/**    */
+	private final LongAdder binaryFiles = new LongAdder();
+	/**       */
+	private final LongAdder binaryBytesSkipped = new LongAdder();
+	/**     */
+	private final LongAdder[] latency = new LongAdder[BUCKETS];
+	/**     ,  */
+	private volatile long maxLatencyNanos = 0;
+	/**       ,  ( 0 -  ) */
+	private volatile long startNanos = System.nanoTime(), walkStartNanos = startNanos, walkEndNanos = startNanos;
+	/**     */
+	private volatile ResultChannel resultQueue;
+	/** ,      JMX (null -  ) */
+	private volatile ObjectName registeredName;
+
+	public SearchMetrics() {
+		for(int i = 0; i < BUCKETS; i++)
+			latency[i] = new LongAdder();
+	}
+
+	/**
+	 *     JMX.   (,   )   
+	 * @param session    (null -   ,  OBJECT_NAME)
+	 * @return   
+	 */
+	public boolean register(String session) {
+		try {
+			ObjectName name = new ObjectName((session == null) ? OBJECT_NAME : OBJECT_NAME + ",session=" + ObjectName.quote(session));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			registeredName = name;
+			return true;
+		} catch(JMException e) {
+			return false;
+		}
+	}
+
+	/**       JMX (  ) */
+	public void unregister() {
+		ObjectName name = registeredName;
+		registeredName = null;
+		if(name == null)
+			return;
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch(JMException e) {
+			//  
+		}
+	}
+
+	/**
+	 *     
+	 * @param results   
+	 */
+	public void reset(ResultChannel results) {
+		for(LongAdder adder : new LongAdder[] {filesFound, filesInProgress, filesDone, bytesScanned, scanNanos, ioWaitNanos,
+													binaryFiles, binaryBytesSkipped})
+			adder.reset();
+		for(LongAdder bucket : latency)
+			bucket.reset();
+		maxLatencyNanos = 0;
+		resultQueue = results;
+		startNanos = walkStartNanos = System.nanoTime();
+		walkEndNanos = 0;
+	}
+
+	/**   ,   */
+	public void fileFound() {
+		filesFound.increment();
+	}
+
+	/**     */
+	public void walkFinished() {
+		walkEndNanos = System.nanoTime();
+	}
+
+	/** @return      fileDone */
+	public long fileStarted() {
+		filesInProgress.increment();
+		return System.nanoTime();
+	}
+
+	/**
+	 *    
+	 * @param startedAt    ( fileStarted)
+	 * @param completed    (false -  )
+	 */
+	public void fileDone(long startedAt, boolean completed) {
+		long nanos = System.nanoTime() - startedAt;
+		filesInProgress.decrement();
+		if(!completed)
+			return;
+		filesDone.increment();
+		scanNanos.add(nanos);
+		long micros = Math.max(nanos / 1000, 1);
+		latency[Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1)].increment();
+		if(nanos > maxLatencyNanos)
+			maxLatencyNanos = nanos; //       ,    
+	}
+
+	/** @param bytes    */
+	public void scanned(long bytes) {
+		bytesScanned.add(bytes);
+	}
+
+	/** @param nanos     - */
+	public void ioWaited(long nanos) {
+		ioWaitNanos.add(nanos);
+	}
+
+	/** @param bytesSkipped        */
+	public void binaryFound(long bytesSkipped) {
+		binaryFiles.increment();
+		binaryBytesSkipped.add(bytesSkipped);
+	}
+
+	/** @param bytes        */
+	public void mapped(long bytes) {
+		mappedBytes.add(bytes);
+	}
+
+	/** @param bytes        */
+	public void unmapped(long bytes) {
+		mappedBytes.add(-bytes);
+	}
+
+	/** @return   */
+	public Snapshot snapshot() {
+		return new Snapshot(this);
+	}
+
+	@Override
+	public long getFilesFound() {
+		return filesFound.sum();
+	}
+
+	@Override
+	public long getFilesInProgress() {
+		return Math.max(filesInProgress.sum(), 0); //       
+	}
+
+	@Override
+	public long getFilesDone() {
+		return filesDone.sum();
+	}
+
+	@Override
+	public long getPendingFiles() {
+		return Math.max(getFilesFound() - getFilesDone() - getFilesInProgress(), 0);
+	}
+
+	@Override
+	public long getBytesScanned() {
+		return bytesScanned.sum();
+	}
+
+	@Override
+	public double getMegabytesPerSecond() {
+		long elapsed = System.nanoTime() - startNanos;
+		return (elapsed <= 0) ? 0 : getBytesScanned() * 1e9 / elapsed / (1 << 20);
+	}
+
+	@Override
+	public long getElapsedMillis() {
+		return (System.nanoTime() - startNanos) / 1_000_000;
+	}
+
+	@Override
+	public long getWalkMillis() {
+		long end = walkEndNanos;
+		return ((end != 0 ? end : System.nanoTime()) - walkStartNanos) / 1_000_000;
+	}
+
+	@Override
+	public long getScanMillis() {
+		return scanNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public long getIoWaitMillis() {
+		return ioWaitNanos.sum() / 1_000_000;
+	}
+
+	@Override
+	public long getBinaryFiles() {
+		return binaryFiles.sum();
+	}
+
+	@Override
+	public long getBinaryBytesSkipped() {
+		return binaryBytesSkipped.sum();
+	}
+
+	@Override
+	public int getResultQueueDepth() {
+		ResultChannel results = resultQueue;
+		return (results == null) ? 0 : results.size();
+	}
+
+	@Override
+	public long getMappedBytes() {
+		return mappedBytes.sum();
+	}
+
+	@Override
+	public long getLatencyP50Micros() {
+		return percentileMicros(0.5);
+	}
+
+	@Override
+	public long getLatencyP90Micros() {
+		return percentileMicros(0.9);
+	}
+
+	@Override
+	public long getLatencyP99Micros() {
+		return percentileMicros(0.99);
+	}
+
+	@Override
+	public long getMaxLatencyMicros() {
+		return maxLatencyNanos / 1000;
+	}
+
+	@Override
+	public long[] getLatencyHistogram() {
+		long[] counts = new long[BUCKETS];
+		for(int i = 0; i < BUCKETS; i++)
+			counts[i] = latency[i].sum();
+		return counts;
+	}
+
+	/**
+	 *        
+	 * @param fraction   (0.5 - )
+	 * @return   ,    ,      , 
+	 * (0 -   )
+	 */
+	private long percentileMicros(double fraction) {
+		long[] counts = getLatencyHistogram();
+		long total = 0;
+		for(long count : counts)
+			total += count;
+		if(total == 0)
+			return 0;
+		long rank = (long)Math.ceil(total * fraction), seen = 0;
+		long max = Math.max(getMaxLatencyMicros(), 1);
+		for(int i = 0; i < BUCKETS; i++)
+			if((seen += counts[i]) >= rank)
+				return Math.min(1L << (i + 1), max);
+		return max;
+	}
+
+	/**      */
+	public static class Snapshot {
+		public final long filesFound, filesInProgress, filesDone, pendingFiles, bytesScanned, mappedBytes,
+						  elapsedMillis, walkMillis, scanMillis, ioWaitMillis, binaryFiles, binaryBytesSkipped, p50Micros, p90Micros, p99Micros, maxLatencyMicros;
+		public final double megabytesPerSecond;
+		public final int resultQueueDepth;
+
+		Snapshot(SearchMetrics metrics) {
+			filesFound = metrics.getFilesFound();
+			filesInProgress = metrics.getFilesInProgress();
+			filesDone = metrics.getFilesDone();
+			pendingFiles = metrics.getPendingFiles();
+			bytesScanned = metrics.getBytesScanned();
+			mappedBytes = metrics.getMappedBytes();
+			elapsedMillis = metrics.getElapsedMillis();
+			walkMillis = metrics.getWalkMillis();
+			scanMillis = metrics.getScanMillis();
+			ioWaitMillis = metrics.getIoWaitMillis();
+			binaryFiles = metrics.getBinaryFiles();
+			binaryBytesSkipped = metrics.getBinaryBytesSkipped();
+			p50Micros = metrics.getLatencyP50Micros();
+			p90Micros = metrics.getLatencyP90Micros();
+			p99Micros = metrics.getLatencyP99Micros();
+			maxLatencyMicros = metrics.getMaxLatencyMicros();
+			megabytesPerSecond = metrics.getMegabytesPerSecond();
+			resultQueueDepth = metrics.getResultQueueDepth();
+		}
+
+		/** @return    : ,    , ,  */
+		public String getThroughput() {
+			return String.format(" %.1f  (%.1f /),  %d ,  %d  (  ),  - %d , " +
+								 "  %d (  %.1f ), " +
+								 "  %d,    %d,  %d , " +
+								 "  p50/p90/p99/max %s/%s/%s/%s",
+								 bytesScanned / (double)(1 << 20), megabytesPerSecond, walkMillis, scanMillis, ioWaitMillis,
+								 binaryFiles, binaryBytesSkipped / (double)(1 << 20),
+								 pendingFiles, resultQueueDepth, mappedBytes >> 20,
+								 formatMicros(p50Micros), formatMicros(p90Micros), formatMicros(p99Micros), formatMicros(maxLatencyMicros));
+		}
+
+		private static String formatMicros(long micros) {
+			return (micros < 1000) ? micros + " " : (micros < 1_000_000) ? micros / 1000 + " " : micros / 1_000_000 + " ";
+		}
+
+		@Override
+		public String toString() {
+			return "  " + filesFound + ",  " + filesInProgress + ",  " + filesDone +
+				   ", " + elapsedMillis / 1000 + " . " + getThroughput();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ *  ,   JMX (jconsole, VisualVM):      
+ */
+public interface SearchMetricsMBean {
+	/** @return       */
+	long getFilesFound();
+
+	/** @return    */
+	long getFilesInProgress();
+
+	/** @return   */
+	long getFilesDone();
+
+	/** @return  ,       */
+	long getPendingFiles();
+
+	/** @return   (   - ) */
+	long getBytesScanned();
+
+	/** @return     , / */
+	double getMegabytesPerSecond();
+
+	/** @return    ,  */
+	long getElapsedMillis();
+
+	/** @return    ,  */
+	long getWalkMillis();
+
+	/** @return      ,  */
+	long getScanMillis();
+
+	/** @return      - (  ),  */
+	long getIoWaitMillis();
+
+	/** @return    */
+	long getBinaryFiles();
+
+	/** @return       (    ) */
+	long getBinaryBytesSkipped();
+
+	/** @return    */
+	int getResultQueueDepth();
+
+	/** @return        */
+	long getMappedBytes();
+
+	/** @return    ,  (   ) */
+	long getLatencyP50Micros();
+
+	/** @return 90-    ,  */
+	long getLatencyP90Micros();
+
+	/** @return 99-    ,  */
+	long getLatencyP99Micros();
+
+	/** @return     ,  */
+	long getMaxLatencyMicros();
+
+	/** @return    :   i - ,   [2^i, 2^(i+1))  */
+	long[] getLatencyHistogram();
+}
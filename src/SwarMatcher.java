@@ -0,0 +1,62 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ *   SWAR-   :     8  (long),
+ *     ,       .
+ *       .
+ */
+public class SwarMatcher implements ByteMatcher {
+	private static final long ONES = 0x0101010101010101L,
+							  HIGHS = 0x8080808080808080L;
+	/**     */
+	private final byte[] pattern;
+	/**   ,    8   */
+	private final long firstBytes;
+
+	public SwarMatcher(byte[] pattern) {
+		this.pattern = pattern.clone();
+		firstBytes = (pattern[0] & 0xFFL) * ONES;
+	}
+
+	@Override
+	public int indexOf(ByteBuffer buffer, int from, int to) {
+		int m = pattern.length;
+		int last = to - m; //  ,     
+		boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+		int i = from;
+		while(i + Long.BYTES <= to && i <= last) {
+			long word = buffer.getLong(i);
+			if(!littleEndian)
+				word = Long.reverseBytes(word); //    -    
+			long x = word ^ firstBytes; //    
+			long found = (x - ONES) & ~x & HIGHS; //      
+			while(found != 0) {
+				int candidate = i + (Long.numberOfTrailingZeros(found) >>> 3);
+				if(candidate > last)
+					return -1;
+				if(matchesAt(buffer, candidate))
+					return candidate;
+				found &= found - 1; //      
+			}
+			i += Long.BYTES;
+		}
+		for(; i <= last; i++) // ,   8 
+			if(buffer.get(i) == pattern[0] && matchesAt(buffer, i))
+				return i;
+		return -1;
+	}
+
+	/**  ,    pos (    ) */
+	private boolean matchesAt(ByteBuffer buffer, int pos) {
+		for(int j = 0; j < pattern.length; j++)
+			if(buffer.get(pos + j) != pattern[j])
+				return false;
+		return true;
+	}
+
+	@Override
+	public int length() {
+		return pattern.length;
+	}
+}
@@ -0,0 +1,311 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *           .
+ *      ,        (3   ),
+ *    .     ,       ,
+ *    -   .
+ *        ;       .
+ */
+public class TrigramIndex {
+	/**      */
+	private static final int MAGIC = 0x46544958, VERSION = 1;
+	/**    */
+	public static final int BLOCK_SIZE = 4 << 20;
+	/**        */
+	private static final long MAX_RANGE = 64L * BLOCK_SIZE;
+	/**         - */
+	private static final int BITS_PER_TRIGRAM = 8, HASHES = 3;
+	/**    (       ) */
+	private static final int MAX_BLOOM_BITS = 1 << 23;
+	/**     ,     */
+	private static final int FINGERPRINT_LENGTH = 4096;
+
+	/**   */
+	private static class Entry {
+		final long size, modified, fingerprint;
+		/**     */
+		final long[][] blooms;
+
+		Entry(long size, long modified, long fingerprint, long[][] blooms) {
+			this.size = size;
+			this.modified = modified;
+			this.fingerprint = fingerprint;
+			this.blooms = blooms;
+		}
+	}
+
+	/** ,     */
+	private final Path indexFile;
+	/**      */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	/**      */
+	private volatile boolean dirty = false;
+	/**       */
+	private final AtomicLong buildNanos = new AtomicLong(), indexedBytes = new AtomicLong(),
+							 blocksQueried = new AtomicLong(), blocksCandidate = new AtomicLong();
+	/**         (2^24 ) */
+	private static final ThreadLocal<long[]> SEEN = ThreadLocal.withInitial(() -> new long[1 << 18]);
+
+	private TrigramIndex(Path indexFile) {
+		this.indexFile = indexFile;
+	}
+
+	/**
+	 *    .    ~/.findtextinlogs/index
+	 * @param root  
+	 * @return    
+	 */
+	public static TrigramIndex open(Path root) {
+		String key = root.toAbsolutePath().normalize().toString();
+		Path dir = Paths.get(System.getProperty("user.home"), ".findtextinlogs", "index");
+		TrigramIndex index = new TrigramIndex(dir.resolve(String.format("%08x.idx", key.hashCode())));
+		try {
+			index.load();
+		} catch(IOException e) { //      
+			index.entries.clear();
+			index.dirty = true;
+		}
+		return index;
+	}
+
+	/**
+	 *    
+	 * @param pattern    
+	 * @return    null,    3     
+	 */
+	public static int[] trigramsOf(byte[] pattern) {
+		if(pattern.length < 3)
+			return null;
+		int[] trigrams = new int[pattern.length - 2];
+		for(int i = 0; i < trigrams.length; i++)
+			trigrams[i] = ((pattern[i] & 0xFF) << 16) | ((pattern[i + 1] & 0xFF) << 8) | (pattern[i + 2] & 0xFF);
+		Arrays.sort(trigrams);
+		int n = 0;
+		for(int i = 0; i < trigrams.length; i++)
+			if(i == 0 || trigrams[i] != trigrams[i - 1])
+				trigrams[n++] = trigrams[i];
+		return Arrays.copyOf(trigrams, n);
+	}
+
+	/**
+	 *    ,    
+	 * @param path   
+	 * @param size  
+	 * @param modified   
+	 * @param trigrams  
+	 * @param patternLength  
+	 * @return  [, ) ,     ,  null,    
+	 */
+	public long[] candidateRanges(Path path, long size, long modified, int[] trigrams, int patternLength) {
+		Entry entry = entries.get(path.toAbsolutePath().toString());
+		if(entry == null || entry.size != size || entry.modified != modified)
+			return null;
+		int blocks = entry.blooms.length;
+		int span = (patternLength + BLOCK_SIZE - 1) / BLOCK_SIZE; //      
+		long[] ranges = new long[blocks * 2];
+		int n = 0;
+		for(int b = 0; b < blocks; b++) {
+			if(!mayContainAll(entry.blooms, b, Math.min(b + span, blocks - 1), trigrams))
+				continue;
+			long start = (long)b * BLOCK_SIZE, end = Math.min(start + BLOCK_SIZE, size);
+			if(n > 0 && ranges[n - 1] == start && end - ranges[n - 2] <= MAX_RANGE) //   
+				ranges[n - 1] = end;
+			else {
+				ranges[n++] = start;
+				ranges[n++] = end;
+			}
+			blocksCandidate.incrementAndGet();
+		}
+		blocksQueried.addAndGet(blocks);
+		return Arrays.copyOf(ranges, n);
+	}
+
+	/**
+	 *    .    ,    
+	 * @param path   
+	 * @param modified   
+	 */
+	public void update(Path path, long modified) throws IOException {
+		long started = System.nanoTime();
+		String key = path.toAbsolutePath().toString();
+		try(RandomAccessFile file = new RandomAccessFile(key, "r")) {
+			FileChannel channel = file.getChannel();
+			long size = channel.size();
+			Entry old = entries.get(key);
+			int fromBlock = 0;
+			long[][] blooms;
+			if(old != null && old.size <= size && old.size > 0 && fingerprint(channel, old.size) == old.fingerprint) {
+				//           
+				fromBlock = (int)(Math.max(old.size - 2, 0) / BLOCK_SIZE);
+				blooms = Arrays.copyOf(old.blooms, blockCount(size));
+			}
+			else
+				blooms = new long[blockCount(size)][];
+			for(int b = fromBlock; b < blooms.length && !Thread.currentThread().isInterrupted(); b++)
+				blooms[b] = buildBloom(channel, (long)b * BLOCK_SIZE, size);
+			if(Thread.currentThread().isInterrupted())
+				return;
+			entries.put(key, new Entry(size, modified, fingerprint(channel, size), blooms));
+			indexedBytes.addAndGet(size - (long)fromBlock * BLOCK_SIZE);
+			dirty = true;
+		} finally {
+			buildNanos.addAndGet(System.nanoTime() - started);
+		}
+	}
+
+	/**   ,   .     */
+	public void save() throws IOException {
+		if(!dirty)
+			return;
+		entries.keySet().removeIf(path -> !Files.exists(Paths.get(path)));
+		Files.createDirectories(indexFile.getParent());
+		Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(BLOCK_SIZE);
+			out.writeInt(entries.size());
+			for(Map.Entry<String, Entry> e : entries.entrySet()) {
+				Entry entry = e.getValue();
+				out.writeUTF(e.getKey());
+				out.writeLong(entry.size);
+				out.writeLong(entry.modified);
+				out.writeLong(entry.fingerprint);
+				out.writeInt(entry.blooms.length);
+				for(long[] bloom : entry.blooms) {
+					out.writeInt(bloom.length);
+					for(long word : bloom)
+						out.writeLong(word);
+				}
+			}
+		}
+		Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		dirty = false;
+	}
+
+	/** @return    : ,  ,    */
+	public String getStats() {
+		long blocks = 0, bytes = 0;
+		for(Entry entry : entries.values()) {
+			blocks += entry.blooms.length;
+			for(long[] bloom : entry.blooms)
+				bytes += bloom.length * 8L;
+		}
+		long queried = blocksQueried.get();
+		return ":  " + entries.size() + ",  " + blocks + ",  " + bytes / 1024 + " " +
+				",  " + indexedBytes.get() / (1 << 20) + "   " + buildNanos.get() / 1_000_000 + " " +
+				",   " + blocksCandidate.get() + "  " + queried;
+	}
+
+	/**     */
+	private void load() throws IOException {
+		if(!Files.exists(indexFile))
+			return;
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != BLOCK_SIZE)
+				throw new IOException("   " + indexFile);
+			int count = in.readInt();
+			for(int i = 0; i < count; i++) {
+				String path = in.readUTF();
+				long size = in.readLong(), modified = in.readLong(), fingerprint = in.readLong();
+				long[][] blooms = new long[in.readInt()][];
+				for(int b = 0; b < blooms.length; b++) {
+					blooms[b] = new long[in.readInt()];
+					for(int w = 0; w < blooms[b].length; w++)
+						blooms[b][w] = in.readLong();
+				}
+				entries.put(path, new Entry(size, modified, fingerprint, blooms));
+			}
+		}
+	}
+
+	/** @return        from..to */
+	private static boolean mayContainAll(long[][] blooms, int from, int to, int[] trigrams) {
+		for(int trigram : trigrams) {
+			boolean found = false;
+			for(int b = from; b <= to && !found; b++)
+				found = mayContain(blooms[b], trigram);
+			if(!found)
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean mayContain(long[] bloom, int trigram) {
+		int mask = bloom.length * 64 - 1;
+		int h1 = trigram * 0x9E3779B1, h2 = Integer.rotateLeft(trigram * 0x85EBCA6B, 16) | 1;
+		for(int i = 0; i < HASHES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			if((bloom[bit >>> 6] & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+
+	private static void addToBloom(long[] bloom, int trigram) {
+		int mask = bloom.length * 64 - 1;
+		int h1 = trigram * 0x9E3779B1, h2 = Integer.rotateLeft(trigram * 0x85EBCA6B, 16) | 1;
+		for(int i = 0; i < HASHES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			bloom[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 *      ,   .
+	 *       ,       
+	 */
+	private static long[] buildBloom(FileChannel channel, long blockStart, long fileSize) throws IOException {
+		long mapEnd = Math.min(blockStart + BLOCK_SIZE + 2, fileSize); // +2      
+		int starts = (int)Math.min(BLOCK_SIZE, mapEnd - blockStart - 2); //     
+		long[] seen = SEEN.get();
+		Arrays.fill(seen, 0);
+		int distinct = 0;
+		try(MappedRegion region = MappedRegion.map(channel, blockStart, mapEnd - blockStart)) {
+			MappedByteBuffer buffer = region.buffer();
+			int trigram = 0;
+			for(int i = 0; i < starts + 2; i++) {
+				trigram = ((trigram << 8) | (buffer.get(i) & 0xFF)) & 0xFFFFFF;
+				if(i >= 2) {
+					long bit = 1L << trigram;
+					int word = trigram >>> 6;
+					if((seen[word] & bit) == 0) {
+						seen[word] |= bit;
+						distinct++;
+					}
+				}
+			}
+		}
+		int wanted = Math.min(Math.max(distinct * BITS_PER_TRIGRAM, 64), MAX_BLOOM_BITS);
+		int bits = Integer.highestOneBit(wanted * 2 - 1); //    
+		long[] bloom = new long[bits / 64];
+		for(int word = 0; word < seen.length && distinct > 0; word++)
+			for(long w = seen[word]; w != 0; w &= w - 1)
+				addToBloom(bloom, (word << 6) | Long.numberOfTrailingZeros(w));
+		return bloom;
+	}
+
+	/** @return    ,   ,     */
+	static long fingerprint(FileChannel channel, long size) throws IOException {
+		int length = (int)Math.min(FINGERPRINT_LENGTH, size);
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while(buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) { }
+		long hash = 0xCBF29CE484222325L ^ length; // FNV-1a
+		for(int i = 0; i < buffer.position(); i++)
+			hash = (hash ^ (buffer.get(i) & 0xFF)) * 0x100000001B3L;
+		return hash;
+	}
+
+	private static int blockCount(long size) {
+		return (int)((size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+	}
+}
@@ -0,0 +1,79 @@
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ *  ,       :        .
+ *   - ,    -  
+ *   (, ""  ""  UTF-8).    :
+ *           ,  .
+ */
+public class VariantMatcher implements ByteMatcher {
+	/**  : variants[][][] -   */
+	private final byte[][][][] variants;
+	/**       */
+	private final boolean[] first = new boolean[256];
+	/**        */
+	private final int minLength, maxLength;
+
+	/**
+	 * @param variants  :    -   
+	 */
+	public VariantMatcher(List<byte[][][]> variants) {
+		this.variants = variants.toArray(new byte[0][][][]);
+		int min = Integer.MAX_VALUE, max = 0;
+		for(byte[][][] units : this.variants) {
+			int unitsMin = 0, unitsMax = 0;
+			for(byte[][] alternatives : units) {
+				int altMin = Integer.MAX_VALUE, altMax = 0;
+				for(byte[] alternative : alternatives) {
+					altMin = Math.min(altMin, alternative.length);
+					altMax = Math.max(altMax, alternative.length);
+				}
+				unitsMin += altMin;
+				unitsMax += altMax;
+			}
+			min = Math.min(min, unitsMin);
+			max = Math.max(max, unitsMax);
+			for(byte[] alternative : units[0])
+				first[alternative[0] & 0xFF] = true;
+		}
+		minLength = min;
+		maxLength = max;
+	}
+
+	@Override
+	public int indexOf(ByteBuffer buffer, int from, int to) {
+		int last = to - minLength;
+		for(int i = from; i <= last; i++) {
+			if(!first[buffer.get(i) & 0xFF])
+				continue;
+			for(byte[][][] units : variants)
+				if(matchesAt(buffer, i, units, 0, to))
+					return i;
+		}
+		return -1;
+	}
+
+	/** @return    ,   unit,     pos */
+	private static boolean matchesAt(ByteBuffer buffer, int pos, byte[][][] units, int unit, int to) {
+		if(unit == units.length)
+			return true;
+		next:
+		for(byte[] alternative : units[unit]) {
+			if(pos + alternative.length > to)
+				continue;
+			for(int j = 0; j < alternative.length; j++)
+				if(buffer.get(pos + j) != alternative[j])
+					continue next;
+			if(matchesAt(buffer, pos + alternative.length, units, unit + 1, to))
+				return true;
+		}
+		return false;
+	}
+
+	/** @return      (  ) */
+	@Override
+	public int length() {
+		return maxLength;
+	}
+}
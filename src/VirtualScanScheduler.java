@@ -0,0 +1,174 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ,          (Java 21+).
+ *          -,  
+ *  :          .
+ *    ( ,   )  :   .
+ *    Java 8,       reflection.
+ */
+public class VirtualScanScheduler implements ScanScheduler {
+	/**     */
+	private static final long MAPPED_UNIT = 1 << 20;
+	/** Executors.newVirtualThreadPerTaskExecutor(),    JVM */
+	private static final Method FACTORY = findFactory();
+	/**   JVM   */
+	private static volatile Boolean supported;
+
+	/** :      */
+	private final ExecutorService executor;
+	/**     */
+	private final Semaphore openFiles;
+	/**      */
+	private final Semaphore mappedMegabytes;
+	/**       */
+	private final int maxMegabytesPerFile;
+	private final ReentrantLock lock = new ReentrantLock();
+	/**      */
+	private final Condition allDone = lock.newCondition();
+	/**      */
+	private final Condition notFull = lock.newCondition();
+	/**       */
+	private final int maxPending;
+	/**  ,      ( Phaser   65535 ) */
+	private long unfinished = 0;
+	/**    */
+	private boolean shutdown = false;
+
+	/**
+	 * @param maxOpenFiles     
+	 * @param maxMappedBytes         
+	 * @param maxPending      (   )
+	 */
+	public VirtualScanScheduler(int maxOpenFiles, long maxMappedBytes, int maxPending) {
+		executor = newVirtualExecutor();
+		if(executor == null)
+			throw new UnsupportedOperationException("    JVM " + System.getProperty("java.version"));
+		openFiles = new Semaphore(Math.max(maxOpenFiles, 1));
+		this.maxPending = Math.max(maxOpenFiles, 1) + Math.max(maxPending, 1);
+		maxMegabytesPerFile = (int)Math.max(Math.min(maxMappedBytes / MAPPED_UNIT, Integer.MAX_VALUE), 1);
+		mappedMegabytes = new Semaphore(maxMegabytesPerFile);
+	}
+
+	/** @return    JVM   */
+	public static boolean isSupported() {
+		if(supported == null) {
+			ExecutorService probe = newVirtualExecutor();
+			supported = probe != null;
+			if(probe != null)
+				probe.shutdown();
+		}
+		return supported;
+	}
+
+	@Override
+	public void submit(long size, Runnable task) {
+		//      ,    
+		int megabytes = (int)Math.min((size + MAPPED_UNIT - 1) / MAPPED_UNIT, maxMegabytesPerFile);
+		lock.lock();
+		try {
+			while(!shutdown && unfinished >= maxPending)
+				notFull.await();
+			if(shutdown)
+				return;
+			unfinished++;
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt(); //  
+			return;
+		} finally {
+			lock.unlock();
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					openFiles.acquire();
+					try {
+						mappedMegabytes.acquire(megabytes);
+						try {
+							task.run();
+						} finally {
+							mappedMegabytes.release(megabytes);
+						}
+					} finally {
+						openFiles.release();
+					}
+				} catch(InterruptedException e) {
+					//  
+				} catch(RuntimeException e) {
+					e.printStackTrace();
+				} finally {
+					finished();
+				}
+			});
+		} catch(RejectedExecutionException e) { //   
+			finished();
+		}
+	}
+
+	@Override
+	public void awaitCompletion() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while(unfinished > 0 && !shutdown)
+				allDone.await();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int pendingCount() {
+		return openFiles.getQueueLength();
+	}
+
+	@Override
+	public void shutdownNow() {
+		lock.lock();
+		try {
+			shutdown = true;
+			notFull.signalAll();
+			allDone.signalAll(); //   
+		} finally {
+			lock.unlock();
+		}
+		executor.shutdownNow();
+	}
+
+	/**     */
+	private void finished() {
+		lock.lock();
+		try {
+			notFull.signal();
+			if(--unfinished == 0)
+				allDone.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**     */
+	private static Method findFactory() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch(NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/** @return      null,  JVM    */
+	static ExecutorService newVirtualExecutor() {
+		if(FACTORY == null)
+			return null;
+		try {
+			return (ExecutorService)FACTORY.invoke(null);
+		} catch(ReflectiveOperationException | RuntimeException e) { // , preview-  Java 19-20  
+			return null;
+		}
+	}
+}
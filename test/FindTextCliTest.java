@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *      (  grep): 0 - , 1 -  , 2 - ,
+ *         ;    -   
+ */
+public class FindTextCliTest {
+	private Path dir;
+
+	@Before
+	public void createDirectory() throws IOException {
+		dir = Files.createTempDirectory("cli");
+		Files.write(dir.resolve("app.log"), "12:00 ERROR timeout\n".getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		Files.delete(dir.resolve("app.log"));
+		Files.deleteIfExists(dir.resolve("patterns.txt"));
+		Files.delete(dir);
+	}
+
+	/** @return       ( ) */
+	private static int run(String... args) {
+		return new FindTextCli(new PrintStream(new ByteArrayOutputStream())).run(args);
+	}
+
+	@Test
+	public void exitCodes() {
+		assertEquals(FindTextCli.EXIT_FOUND, run("timeout", dir.toString()));
+		assertEquals(FindTextCli.EXIT_NOT_FOUND, run("absent", dir.toString()));
+	}
+
+	/**       :       */
+	@Test(timeout = 60_000)
+	public void walkerFailureIsError() throws InterruptedException {
+		FindFiles finder = FindFiles.getInstance();
+		finder.followNewData = true;
+		Thread busy = new Thread(() -> finder.findFilesInDirectory("timeout", dir.toString(), ".log"), "test-walker");
+		busy.start();
+		try {
+			while(!finder.following)
+				Thread.sleep(10);
+			assertEquals(FindTextCli.EXIT_ERROR, run("timeout", dir.toString()));
+		} finally {
+			finder.stopSearch();
+			busy.join();
+			finder.followNewData = false;
+		}
+	}
+
+	/**    -e        ,   */
+	@Test
+	public void emptyPatternIsUsageError() throws IOException {
+		Files.write(dir.resolve("patterns.txt"), "timeout\n\nERROR\n".getBytes(StandardCharsets.US_ASCII));
+		assertTrue(usageError("-e", "timeout", "-e", "", dir.toString()));
+		assertTrue(usageError("", dir.toString()));
+		assertTrue(usageError("--patterns-file", dir.resolve("patterns.txt").toString(), dir.toString()));
+	}
+
+	/** @return      :  2      */
+	private static boolean usageError(String... args) {
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		PrintStream oldErr = System.err;
+		System.setErr(new PrintStream(err));
+		try {
+			return run(args) == FindTextCli.EXIT_ERROR && err.toString().contains("FindTextCli [");
+		} finally {
+			System.setErr(oldErr);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *      (followNewData):     (64 )
+ *    ,        ;
+ * ,      ,   ;    ,
+ *     , 
+ */
+public class FollowTest {
+	private static final long REGION = 64L << 20;
+	private Path dir;
+
+	@Before
+	public void createDirectory() throws IOException {
+		dir = Files.createTempDirectory("follow");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		Files.deleteIfExists(dir.resolve("app.log"));
+		Files.delete(dir);
+	}
+
+	@Test(timeout = 120_000)
+	public void findsTextAppendedAcrossRegions() throws IOException, InterruptedException {
+		assertEquals(expectedOffsets("NEEDLE1"), followAndAppend("NEEDLE1"));
+	}
+
+	@Test(timeout = 120_000)
+	public void findsPatternsAppendedAcrossRegions() throws IOException, InterruptedException {
+		TreeSet<Long> expected = expectedOffsets("NEEDLE1");
+		expected.addAll(expectedOffsets("NEEDLE2"));
+		assertEquals(expected, followAndAppend("NEEDLE1", "NEEDLE2"));
+	}
+
+	/**         ,   */
+	@Test(timeout = 60_000)
+	public void rejectsSecondSearchInSession() throws IOException, InterruptedException {
+		Files.write(dir.resolve("app.log"), "start\n".getBytes(StandardCharsets.US_ASCII));
+		try(FindFiles finder = new FindFiles(null)) {
+			finder.followNewData = true;
+			finder.walkConcurrency = 1;
+			Thread walker = new Thread(() -> finder.findFilesInDirectory("ERROR", dir.toString(), ".log"), "test-walker");
+			walker.start();
+			while(!finder.following)
+				Thread.sleep(10);
+			try {
+				finder.findFilesInDirectory("ERROR", dir.toString(), ".log");
+				fail("     ");
+			} catch(IllegalStateException e) { }
+			assertTrue(finder.following);
+			finder.stopSearch();
+			walker.join();
+		}
+	}
+
+	/**   ( -   ,   -   inotify)   */
+	@Test
+	public void registrationFailureDoesNotThrow() throws IOException {
+		try(LogFollower follower = new LogFollower(dir.getFileSystem())) {
+			assertTrue(follower.tryRegister(dir));
+			assertFalse(follower.tryRegister(dir.resolve("removed")));
+			assertEquals(1, follower.getUnwatchedCount());
+		}
+	}
+
+	/** @return  ( )     */
+	private static TreeSet<Long> expectedOffsets(String text) {
+		TreeSet<Long> offsets = new TreeSet<>();
+		offsets.add(appendedAt() + RECORD.indexOf(text));
+		return offsets;
+	}
+
+	/**   */
+	private static final String RECORD = "ERROR NEEDLE1 NEEDLE2\n";
+
+	/** @return   :      */
+	private static long appendedAt() {
+		return REGION + (6 << 20);
+	}
+
+	/**
+	 *   :           
+	 * @return  ( ) ,    
+	 */
+	private TreeSet<Long> followAndAppend(String... texts) throws IOException, InterruptedException {
+		Path file = dir.resolve("app.log");
+		Files.write(file, "start\n".getBytes(StandardCharsets.US_ASCII));
+		TreeSet<Long> found = new TreeSet<>();
+		try(FindFiles finder = new FindFiles(null)) {
+			finder.followNewData = true;
+			finder.findAllOccurrences = true;
+			finder.charset = StandardCharsets.US_ASCII;
+			finder.binaryPolicy = ContentClassifier.BinaryPolicy.SEARCH; //  -  
+			finder.walkConcurrency = 1;
+			ResultChannel channel = finder.getResults();
+			Thread walker = new Thread(() -> finder.findFilesInDirectory(texts, dir.toString(), ".log"), "test-walker");
+			walker.start();
+			while(!finder.following)
+				Thread.sleep(10);
+			try(RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+				raf.setLength(appendedAt()); //    
+				raf.seek(appendedAt());
+				raf.write(RECORD.getBytes(StandardCharsets.US_ASCII));
+			}
+			List<FindedFile> results = new ArrayList<>();
+			while(found.size() < texts.length) {
+				channel.drain(results, ResultChannel.CAPACITY, 50);
+				for(FindedFile findedFile : results)
+					for(java.util.PrimitiveIterator.OfLong it = findedFile.offsets(); it.hasNext(); )
+						found.add(it.nextLong() - 1);
+				results.clear();
+			}
+			finder.stopSearch();
+			walker.join();
+		}
+		assertTrue(found.first() >= REGION);
+		return found;
+	}
+}
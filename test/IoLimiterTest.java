@@ -0,0 +1,96 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ *    -:      ,
+ *             ,     
+ */
+public class IoLimiterTest {
+	@Test
+	public void limitFollowsSessions() {
+		IoLimiter limiter = new IoLimiter(0);
+		assertEquals(Runtime.getRuntime().availableProcessors(), limiter.getLimit());
+		IoLimiter.Session wide = limiter.join(64), narrow = limiter.join(2);
+		assertEquals(64, limiter.getLimit());
+		wide.close();
+		wide.close(); //  - 
+		assertEquals(2, limiter.getLimit());
+		limiter.setLimit(3); //     
+		assertEquals(3, limiter.getLimit());
+		limiter.setLimit(0);
+		narrow.close();
+		assertEquals(Runtime.getRuntime().availableProcessors(), limiter.getLimit());
+	}
+
+	@Test
+	public void regexTakesPermitPerWindow() throws IOException {
+		Path file = Files.createTempFile("windows", ".log");
+		try {
+			try(RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+				raf.setLength(3 * (64L << 20) + 100); //     64   ,    
+				raf.seek(raf.length() - 20);
+				raf.write("ERROR timeout\n".getBytes(StandardCharsets.US_ASCII));
+			}
+			IoLimiter limiter = new IoLimiter(1);
+			CountingPermits permits = new CountingPermits(limiter);
+			RegexSearcher searcher = new RegexSearcher("ERROR\\s+timeout", StandardCharsets.US_ASCII, false, null);
+			try(FileChannel channel = FileChannel.open(file)) {
+				assertNotEquals(-1, searcher.search(channel, 0, 0, null, 1, permits));
+			}
+			assertEquals(4, permits.count.get());
+			assertEquals(0, limiter.getActive());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void streamTakesPermitPerWindow() throws IOException {
+		byte[] data = new byte[(3 << 20) + 100]; //    1   
+		IoLimiter limiter = new IoLimiter(1);
+		CountingPermits permits = new CountingPermits(limiter);
+		AtomicInteger windows = new AtomicInteger();
+		CompressedScanner.scan(new ByteArrayInputStream(data), 16, permits, (window, limit, last, base) -> {
+			assertEquals(1, limiter.getActive()); //    
+			windows.incrementAndGet();
+			return limit;
+		});
+		assertEquals(windows.get(), permits.count.get());
+		assertEquals(4, windows.get());
+		assertEquals(0, limiter.getActive());
+	}
+
+	/**     */
+	private static class CountingPermits implements Supplier<IoLimiter> {
+		final IoLimiter limiter;
+		final AtomicInteger count = new AtomicInteger();
+
+		CountingPermits(IoLimiter limiter) {
+			this.limiter = limiter;
+		}
+
+		@Override
+		public IoLimiter get() {
+			try {
+				limiter.acquire(IoLimiter.Priority.INTERACTIVE);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+			count.incrementAndGet();
+			return limiter;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *     :      ,  
+ *  UTF-8,   ,    (  )
+ */
+public class MappedTextContentTest {
+	private Path file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = Files.createTempFile("mapped", ".log");
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test(timeout = 60_000)
+	public void matchesDecodedUtf8() throws IOException, InterruptedException {
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < LineIndex.STRIDE * 3 + 17; i++)
+			text.append(i).append(i % 3 == 0 ? "  \uD83D\uDE00 " : " line ").append(i % 7 == 0 ? "" : "").append('\n');
+		text.append("   ");
+		assertMatches(text.toString(), StandardCharsets.UTF_8);
+	}
+
+	@Test(timeout = 60_000)
+	public void matchesDecodedSingleByte() throws IOException, InterruptedException {
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; i < LineIndex.STRIDE * 2; i++)
+			text.append(" ").append(i).append('\n');
+		assertMatches(text.toString(), Charset.forName("windows-1251"));
+	}
+
+	private void assertMatches(String text, Charset charset) throws IOException, InterruptedException {
+		Files.write(file, text.getBytes(charset));
+		MappedTextContent content = new MappedTextContent(file, charset, 0, Files.size(file));
+		AtomicInteger inserted = new AtomicInteger(), insertedLines = new AtomicInteger(1);
+		content.addTextChangeListener(new TextChangeListener() {
+			@Override
+			public void textChanging(TextChangingEvent event) {
+				assertEquals(inserted.get(), event.start); //     
+				inserted.addAndGet(event.newCharCount);
+				insertedLines.addAndGet(event.newLineCount);
+			}
+
+			@Override
+			public void textChanged(TextChangedEvent event) { }
+
+			@Override
+			public void textSet(TextChangedEvent event) { }
+		});
+		content.load(LineIndex.of(file), Runnable::run);
+
+		String[] lines = text.split("\n", -1);
+		assertEquals(text.length(), content.getCharCount());
+		assertEquals(text.length(), inserted.get());
+		assertEquals(lines.length, content.getLineCount());
+		assertEquals(lines.length, insertedLines.get());
+		for(int line = 0; line < lines.length; line += 997) {
+			assertEquals(lines[line], content.getLine(line));
+			assertEquals(line, content.getLineAtOffset(content.getOffsetAtLine(line)));
+		}
+		assertEquals(lines[lines.length - 1], content.getLine(lines.length - 1));
+		int boundary = content.getOffsetAtLine(LineIndex.STRIDE);
+		assertEquals(text.substring(boundary - 50, boundary + 50), content.getTextRange(boundary - 50, 100));
+	}
+}
@@ -0,0 +1,149 @@
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *   ByteMatcher   NaiveMatcher:     
+ *     ,       (1 )   (64 )
+ */
+public class MatcherDifferentialTest {
+	private static final int BLOCK = 1 << 20, REGION = 64 << 20;
+	private Path dir;
+
+	@Before
+	public void createDirectory() throws IOException {
+		dir = Files.createTempDirectory("matchers");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		try(java.util.stream.Stream<Path> files = Files.list(dir)) {
+			for(Path file : (Iterable<Path>)files::iterator)
+				Files.delete(file);
+		}
+		Files.delete(dir);
+	}
+
+	@Test
+	public void horspoolAndSwarMatchNaiveOnRandomData() {
+		Random random = new Random(1);
+		for(int round = 0; round < 2000; round++) {
+			byte[] data = randomBytes(random, 1 + random.nextInt(300), 3); //   3  -   
+			byte[] pattern = randomBytes(random, 1 + random.nextInt(10), 3);
+			ByteBuffer buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN); //    
+			int from = random.nextInt(data.length), to = from + random.nextInt(data.length - from + 1);
+			NaiveMatcher naive = new NaiveMatcher(pattern);
+			int expected = naive.indexOf(buffer, from, to);
+			if(pattern.length >= ByteMatcher.HORSPOOL_MIN_LENGTH)
+				assertEquals("Horspool " + round, expected, new HorspoolMatcher(pattern).indexOf(buffer, from, to));
+			assertEquals("SWAR " + round, expected, new SwarMatcher(pattern).indexOf(buffer, from, to));
+			assertEquals("create " + round, expected, ByteMatcher.create(pattern).indexOf(buffer, from, to));
+		}
+	}
+
+	@Test
+	public void variantMatchesNaiveOnLowerCasedData() {
+		Random random = new Random(2);
+		for(int round = 0; round < 1000; round++) {
+			byte[] data = randomBytes(random, 1 + random.nextInt(300), 3);
+			for(int i = 0; i < data.length; i++) // "a"/"A", "b"/"B", "c"/"C"
+				if(random.nextBoolean())
+					data[i] = (byte)Character.toUpperCase(data[i]);
+			String text = new String(randomBytes(random, 1 + random.nextInt(6), 3), StandardCharsets.US_ASCII).toUpperCase(Locale.ROOT);
+			ByteMatcher variant = new EncodedPattern(text, StandardCharsets.UTF_8, true).matcher(StandardCharsets.UTF_8);
+			byte[] lowerData = new String(data, StandardCharsets.US_ASCII).toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+			NaiveMatcher naive = new NaiveMatcher(text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII));
+			int from = random.nextInt(data.length), to = from + random.nextInt(data.length - from + 1);
+			assertEquals("Variant " + round, naive.indexOf(ByteBuffer.wrap(lowerData), from, to),
+						 variant.indexOf(ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN), from, to));
+		}
+	}
+
+	@Test
+	public void hitsOnBlockAndRegionBoundaries() throws Exception {
+		//    (Horspool),   (SWAR)     (Variant)
+		checkBoundaries("NEEDLE42", false);
+		checkBoundaries("Zq", false);
+		checkBoundaries("nEeDlE42", true);
+	}
+
+	/**
+	 *        :     
+	 *     (    ) -   ,      
+	 */
+	private void checkBoundaries(String text, boolean ignoreCase) throws Exception {
+		byte[] needle = (ignoreCase ? text.toUpperCase(Locale.ROOT) : text).getBytes(StandardCharsets.US_ASCII);
+		long size = 2L * REGION + 3 * BLOCK;
+		Path file = dir.resolve("boundaries.log");
+		for(int shift = 0; shift <= needle.length; shift++) {
+			int placed = 0;
+			try(RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+				out.setLength(0);
+				out.setLength(size); //    -  
+				for(long boundary = BLOCK; boundary <= size; boundary += BLOCK) {
+					long pos = boundary - needle.length + shift;
+					if(pos + needle.length <= size) {
+						out.seek(pos);
+						out.write(needle);
+						placed++;
+					}
+				}
+			}
+			List<Long> expected = naiveOffsets(file, needle);
+			assertEquals("   ", placed, expected.size());
+			try(FindFiles finder = new FindFiles(null)) {
+				finder.findAllOccurrences = true;
+				finder.ignoreCase = ignoreCase;
+				finder.charset = StandardCharsets.US_ASCII;
+				finder.binaryPolicy = ContentClassifier.BinaryPolicy.SEARCH; //  -  
+				finder.walkConcurrency = 1;
+				List<Long> actual = new SearchRun(finder, new String[] {text}, dir, ".log").offsets();
+				Collections.sort(actual);
+				assertEquals(text + ",  " + shift, expected, actual);
+			}
+		}
+		Files.delete(file);
+	}
+
+	/** @return       NaiveMatcher (  ) */
+	private static List<Long> naiveOffsets(Path file, byte[] needle) throws IOException {
+		List<Long> offsets = new ArrayList<>();
+		NaiveMatcher naive = new NaiveMatcher(needle);
+		try(FileChannel channel = FileChannel.open(file)) {
+			long size = channel.size();
+			for(long start = 0; start < size; start += REGION) {
+				long end = Math.min(start + REGION + needle.length - 1, size);
+				try(MappedRegion region = MappedRegion.map(channel, start, end - start)) {
+					ByteBuffer buffer = region.buffer();
+					int startLimit = (int)Math.min(REGION, size - start);
+					for(int pos = 0; (pos = naive.indexOf(buffer, pos, buffer.limit())) != -1 && pos < startLimit; pos++)
+						offsets.add(start + pos);
+				}
+			}
+		}
+		return offsets;
+	}
+
+	private static byte[] randomBytes(Random random, int length, int letters) {
+		byte[] bytes = new byte[length];
+		for(int i = 0; i < length; i++)
+			bytes[i] = (byte)('a' + random.nextInt(letters));
+		return bytes;
+	}
+}
@@ -0,0 +1,75 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ *      ,    :
+ *      ,     
+ */
+public class RegexSearcherTest {
+	/**  ,       */
+	private static void assertLiterals(String regex, String... expected) {
+		Pattern.compile(regex);
+		assertEquals(regex, Arrays.asList(expected), RegexSearcher.requiredLiterals(regex));
+	}
+
+	@Test
+	public void plainTextAndQuantifiers() {
+		assertLiterals("connection timeout", "connection timeout");
+		assertLiterals("foo.*bar", "foo", "bar");
+		assertLiterals("colou?r", "colo", "r");
+		assertLiterals("ab+c", "ab", "c");
+		assertLiterals("ab{0,2}c", "a", "c");
+		assertLiterals("a\\.b", "a.b");
+		assertLiterals("\\Qa.b\\E", "a.b");
+		assertLiterals("id=[0-9]+;", "id=", ";");
+	}
+
+	@Test
+	public void noLiteralsWhenUnsure() {
+		assertLiterals("ERROR|WARN");
+		assertLiterals("(?i)error");
+	}
+
+	@Test
+	public void escapesWithArgumentsAreNotLiterals() {
+		assertLiterals("ERROR\\x20timeout", "ERROR", "timeout");
+		assertLiterals("ab\\x{41}cd", "ab", "cd");
+		assertLiterals("ab\\u0041cd", "ab", "cd");
+		assertLiterals("ab\\0101cd", "ab", "cd");
+		assertLiterals("ab\\07cd", "ab", "cd");
+		assertLiterals("ab\\cJcd", "ab", "cd");
+		assertLiterals("(?<w>ab)x\\k<w>yz", "x", "yz");
+		assertLiterals("ab\\N{LATIN SMALL LETTER A}cd", "ab", "cd");
+		assertLiterals("ab\\pLcd", "ab", "cd");
+		assertLiterals("ab\\p{Lu}cd", "ab", "cd");
+		assertLiterals("(a)b\\1cd", "b", "cd");
+		assertLiterals("ab\\d+cd", "ab", "cd");
+		assertLiterals("ab\\b{g}cd", "ab", "cd");
+	}
+
+	/**       ,     */
+	@Test
+	public void findsLineWithEscapedCharacter() throws IOException {
+		Path file = Files.createTempFile("regex", ".log");
+		try {
+			Files.write(file, Collections.singletonList("12:00 ERROR timeout"), StandardCharsets.UTF_8);
+			RegexSearcher searcher = new RegexSearcher("ERROR\\x20timeout", StandardCharsets.UTF_8, false, null);
+			try(FileChannel channel = FileChannel.open(file)) {
+				assertNotEquals(-1, searcher.search(channel, 0, 0, null, 1));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
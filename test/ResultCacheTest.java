@@ -0,0 +1,70 @@
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *   : ,    ,    
+ *  ,    - 
+ */
+public class ResultCacheTest {
+	private Path dir;
+
+	@Before
+	public void createDirectory() throws IOException {
+		dir = Files.createTempDirectory("cache");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		Files.deleteIfExists(dir.resolve("clean.log"));
+		Files.deleteIfExists(dir.resolve("broken.log.gz"));
+		Files.delete(dir);
+	}
+
+	@Test(timeout = 60_000)
+	public void failedScanIsNotCached() throws IOException, InterruptedException {
+		Path clean = dir.resolve("clean.log"), broken = dir.resolve("broken.log.gz");
+		Files.write(clean, "no errors here\n".getBytes(StandardCharsets.US_ASCII));
+		Files.write(broken, truncatedGzip());
+		String[] texts = {"NEEDLE"};
+		try(FindFiles finder = new FindFiles(null)) {
+			finder.useResultCache = true;
+			SearchRun run = new SearchRun(finder, texts, dir, ".log");
+			assertNull(run.failure);
+			assertTrue(run.results.isEmpty());
+			ResultCache cache = finder.getResultCache();
+			String query = ResultCache.queryKey(texts, false, false, "null", false, finder.maxHitsPerFile, "SKIP", new String[] {".log"});
+			assertNotNull(cache.lookup(query, clean, Files.readAttributes(clean, BasicFileAttributes.class)));
+			assertNull(cache.lookup(query, broken, Files.readAttributes(broken, BasicFileAttributes.class)));
+		}
+	}
+
+	/** @return  gzip,  ,       */
+	private static byte[] truncatedGzip() throws IOException {
+		byte[] noise = new byte[1 << 20];
+		Random random = new Random(1);
+		for(int i = 0; i < noise.length; i++)
+			noise[i] = (byte)('a' + random.nextInt(26));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			gzip.write(noise);
+			gzip.write("NEEDLE\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		byte[] whole = bytes.toByteArray();
+		return Arrays.copyOf(whole, whole.length / 2);
+	}
+}
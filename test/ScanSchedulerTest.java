@@ -0,0 +1,139 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ *   :  ,    ,
+ *    Phaser (65535), -  ,     , -
+ *   ,   
+ */
+public class ScanSchedulerTest {
+	/**    Phaser */
+	private static final int TASKS = 70_000;
+
+	@Test(timeout = 60_000)
+	public void laneSchedulerAwaitsManyPendingTasks() throws InterruptedException {
+		awaitsManyPendingTasks(new LaneScanScheduler(4, 1 << 20, TASKS));
+	}
+
+	@Test(timeout = 60_000)
+	public void virtualSchedulerAwaitsManyPendingTasks() throws InterruptedException {
+		assumeTrue(" JVM   ", VirtualScanScheduler.isSupported());
+		awaitsManyPendingTasks(new VirtualScanScheduler(4, 64L << 20, TASKS));
+	}
+
+	@Test(timeout = 60_000)
+	public void laneSchedulerBlocksSubmitWhenFull() throws InterruptedException {
+		blocksSubmitWhenFull(new LaneScanScheduler(4, 1 << 20, 100));
+	}
+
+	@Test(timeout = 60_000)
+	public void virtualSchedulerBlocksSubmitWhenFull() throws InterruptedException {
+		assumeTrue(" JVM   ", VirtualScanScheduler.isSupported());
+		blocksSubmitWhenFull(new VirtualScanScheduler(4, 64L << 20, 100));
+	}
+
+	/**        TASKS :   ,       */
+	@Test(timeout = 300_000)
+	public void searchesMoreFilesThanPhaserParties() throws IOException, InterruptedException {
+		searchesWideTree(false);
+	}
+
+	/**     :  ,        */
+	@Test(timeout = 300_000)
+	public void virtualSearchesMoreFilesThanPhaserParties() throws IOException, InterruptedException {
+		assumeTrue(" JVM   ", VirtualScanScheduler.isSupported());
+		searchesWideTree(true);
+	}
+
+	/**   TASKS   70      */
+	private static void searchesWideTree(boolean virtual) throws IOException, InterruptedException {
+		Path dir = Files.createTempDirectory("wide");
+		try {
+			byte[] line = "line ERROR\n".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+			for(int d = 0; d < 70; d++) {
+				Path sub = Files.createDirectory(dir.resolve("d" + d));
+				for(int f = 0; f < TASKS / 70; f++)
+					Files.write(sub.resolve("f" + f + ".log"), line);
+			}
+			try(FindFiles finder = new FindFiles(null)) {
+				finder.useVirtualThreads = virtual;
+				SearchRun run = new SearchRun(finder, new String[] {"ERROR"}, dir, ".log");
+				assertNull(run.failure);
+				assertEquals(TASKS, run.results.size());
+			}
+		} finally {
+			try(Stream<Path> files = Files.walk(dir)) {
+				for(Path file : (Iterable<Path>)files.sorted(Comparator.reverseOrder())::iterator)
+					Files.delete(file);
+			}
+		}
+	}
+
+	/**   ,  TASKS ;       awaitCompletion */
+	static void awaitsManyPendingTasks(ScanScheduler scheduler) throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger done = new AtomicInteger();
+		try {
+			for(int i = 0; i < TASKS; i++) {
+				long size = i % 7 * 300_000L; //  
+				scheduler.submit(size, () -> {
+					try {
+						release.await();
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					done.incrementAndGet();
+				});
+			}
+			release.countDown();
+			scheduler.awaitCompletion();
+			assertEquals(TASKS, done.get());
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+
+	/**  4  ,    100         */
+	static void blocksSubmitWhenFull(ScanScheduler scheduler) throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger submitted = new AtomicInteger(), done = new AtomicInteger();
+		Thread submitter = new Thread(() -> {
+			for(int i = 0; i < 1000; i++) {
+				scheduler.submit(1, () -> {
+					try {
+						release.await();
+					} catch(InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					done.incrementAndGet();
+				});
+				submitted.incrementAndGet();
+			}
+		});
+		try {
+			submitter.start();
+			submitter.join(500);
+			assertTrue("  ", submitter.isAlive());
+			assertTrue(" " + submitted.get(), submitted.get() <= 104);
+			release.countDown();
+			submitter.join(TimeUnit.SECONDS.toMillis(30));
+			scheduler.awaitCompletion();
+			assertEquals(1000, done.get());
+		} finally {
+			scheduler.shutdownNow();
+		}
+	}
+}
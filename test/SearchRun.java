@@ -0,0 +1,41 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *      ,    FindTextCli:    ,
+ *        (     )
+ */
+class SearchRun {
+	/**   */
+	final List<FindedFile> results = new ArrayList<>();
+	/** ,      (null -  ) */
+	final Throwable failure;
+
+	/**
+	 * @param finder   
+	 * @param texts  
+	 * @param root  
+	 * @param extensions  
+	 */
+	SearchRun(FindFiles finder, String[] texts, Path root, String... extensions) throws InterruptedException {
+		ResultChannel channel = finder.getResults();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread walker = new Thread(() -> finder.findFilesInDirectory(texts, root.toString(), extensions), "test-walker");
+		walker.setUncaughtExceptionHandler((thread, e) -> error.set(e));
+		walker.start();
+		while(walker.isAlive() || !channel.isEmpty())
+			channel.drain(results, ResultChannel.CAPACITY, 50);
+		failure = error.get();
+	}
+
+	/** @return      ( ) */
+	List<Long> offsets() {
+		List<Long> offsets = new ArrayList<>();
+		for(FindedFile findedFile : results)
+			for(java.util.PrimitiveIterator.OfLong it = findedFile.offsets(); it.hasNext(); )
+				offsets.add(it.nextLong() - 1);
+		return offsets;
+	}
+}